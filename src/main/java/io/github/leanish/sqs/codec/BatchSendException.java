@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import org.jspecify.annotations.Nullable;
+
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+
+/**
+ * Completes a {@link SqsCodecBatchSender} future when its message could not be sent.
+ */
+public class BatchSendException extends CodecException {
+
+    private final @Nullable String code;
+
+    private BatchSendException(@Nullable String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    static BatchSendException entryFailed(BatchResultErrorEntry error) {
+        return new BatchSendException(error.code(), "Batch entry failed with " + error.code() + ": " + error.message());
+    }
+
+    static BatchSendException tooLarge(int size, int maxBatchBytes) {
+        return new BatchSendException(null, "Encoded message of " + size + " bytes exceeds the " + maxBatchBytes + " bytes limit");
+    }
+
+    static BatchSendException missingResult() {
+        return new BatchSendException(null, "Batch response reported the entry neither as successful nor as failed");
+    }
+
+    static BatchSendException interrupted() {
+        return new BatchSendException(null, "Interrupted while waiting for pending messages to complete");
+    }
+
+    static BatchSendException closed() {
+        return new BatchSendException(null, "Batch sender is closed");
+    }
+
+    /**
+     * SQS error code of the failed entry, or null when the message was never sent.
+     */
+    public @Nullable String code() {
+        return code;
+    }
+}
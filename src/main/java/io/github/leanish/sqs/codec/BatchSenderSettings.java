@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.time.Duration;
+
+import org.apache.commons.lang3.Validate;
+
+import lombok.With;
+
+/**
+ * Settings for {@link SqsCodecBatchSender}.
+ *
+ * @param linger how long the first buffered message waits for others before its batch is sent
+ * @param maxBatchBytes SQS size limit for one message and for a whole batch (body plus attribute names, types and values)
+ * @param maxPendingMessages messages buffered or in flight before {@code send} blocks
+ * @param maxAttempts sends of an entry that keeps failing with a non-sender fault, including the first one
+ * @param retryBackoff base delay before resending a failed entry; the n-th resend waits a random delay of up to
+ *        {@code retryBackoff * 2^(n-1)}
+ */
+@With
+public record BatchSenderSettings(
+        Duration linger,
+        int maxBatchBytes,
+        int maxPendingMessages,
+        int maxAttempts,
+        Duration retryBackoff) {
+
+    private static final BatchSenderSettings DEFAULT = new BatchSenderSettings(
+            Duration.ofMillis(10),
+            256 * 1024,
+            1_000,
+            3,
+            Duration.ofMillis(100));
+
+    public BatchSenderSettings {
+        Validate.isTrue(!linger.isNegative(), "Linger must not be negative: %s", linger);
+        Validate.isTrue(maxBatchBytes > 0, "Max batch bytes must be positive: %s", maxBatchBytes);
+        Validate.isTrue(maxPendingMessages > 0, "Max pending messages must be positive: %s", maxPendingMessages);
+        Validate.isTrue(maxAttempts > 0, "Max attempts must be positive: %s", maxAttempts);
+        Validate.isTrue(!retryBackoff.isNegative(), "Retry backoff must not be negative: %s", retryBackoff);
+    }
+
+    public static BatchSenderSettings defaults() {
+        return DEFAULT;
+    }
+}
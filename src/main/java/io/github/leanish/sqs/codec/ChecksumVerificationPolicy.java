@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Decides which received messages get their payload checksum verified, and counts the outcome.
+ * Checksums are always written on send; only receive-side verification is affected.
+ */
+public final class ChecksumVerificationPolicy {
+
+    private final double fraction;
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder skippedVerifications = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    private ChecksumVerificationPolicy(double fraction) {
+        this.fraction = fraction;
+    }
+
+    /**
+     * Verifies every message carrying a checksum.
+     */
+    public static ChecksumVerificationPolicy always() {
+        return new ChecksumVerificationPolicy(1.0);
+    }
+
+    /**
+     * Never verifies checksums, e.g. for trusted internal queues.
+     */
+    public static ChecksumVerificationPolicy never() {
+        return new ChecksumVerificationPolicy(0.0);
+    }
+
+    /**
+     * Verifies a random fraction (between 0 and 1) of the messages.
+     */
+    public static ChecksumVerificationPolicy sampled(double fraction) {
+        Validate.isTrue(fraction >= 0.0 && fraction <= 1.0, "Sampling fraction must be between 0 and 1: %s", fraction);
+        return new ChecksumVerificationPolicy(fraction);
+    }
+
+    public double fraction() {
+        return fraction;
+    }
+
+    /**
+     * Number of checksum verifications performed.
+     */
+    public long verifications() {
+        return verifications.sum();
+    }
+
+    /**
+     * Number of checksum verifications skipped by this policy.
+     */
+    public long skippedVerifications() {
+        return skippedVerifications.sum();
+    }
+
+    /**
+     * Number of performed verifications that failed.
+     */
+    public long mismatches() {
+        return mismatches.sum();
+    }
+
+    boolean shouldVerify() {
+        boolean verify = fraction >= 1.0
+                || (fraction > 0.0 && ThreadLocalRandom.current().nextDouble() < fraction);
+        if (verify) {
+            verifications.increment();
+        } else {
+            skippedVerifications.increment();
+        }
+        return verify;
+    }
+
+    void recordMismatch() {
+        mismatches.increment();
+    }
+}
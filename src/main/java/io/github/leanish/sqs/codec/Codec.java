@@ -7,6 +7,7 @@ package io.github.leanish.sqs.codec;
 
 import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadCarrier;
 import io.github.leanish.sqs.codec.algorithms.compression.Compressor;
 import io.github.leanish.sqs.codec.algorithms.encoding.Encoder;
 
@@ -22,9 +23,20 @@ class Codec {
     Codec(
             CompressionAlgorithm compressionAlgorithm,
             EncodingAlgorithm encoding) {
-        EncodingAlgorithm effectiveEncoding = EncodingAlgorithm.effectiveFor(compressionAlgorithm, encoding);
-        this.compressor = compressionAlgorithm.implementation();
-        this.encoder = effectiveEncoding.implementation();
+        this(compressionAlgorithm.implementation(), EncodingAlgorithm.effectiveFor(compressionAlgorithm, encoding).implementation());
+    }
+
+    private Codec(Compressor compressor, Encoder encoder) {
+        this.compressor = compressor;
+        this.encoder = encoder;
+    }
+
+    static Codec forConfiguration(CodecConfiguration configuration) {
+        if (configuration.payloadCarrier() == PayloadCarrier.ATTRIBUTE) {
+            // Binary attributes carry the compressed bytes as-is
+            return new Codec(configuration.compressionAlgorithm().implementation(), EncodingAlgorithm.NONE.implementation());
+        }
+        return new Codec(configuration.compressionAlgorithm(), configuration.encodingAlgorithm());
     }
 
     public byte[] encode(byte[] payload) {
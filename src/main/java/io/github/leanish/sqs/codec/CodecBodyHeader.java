@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import org.jspecify.annotations.Nullable;
+
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import io.github.leanish.sqs.codec.attributes.UnsupportedCodecConfigurationException;
+
+/**
+ * Self-describing header written at the start of the body when codec attributes are not used:
+ * {@code ~sqsc}, the header version, the compression, encoding, checksum and checksum scope codes
+ * (one base-36 digit each), the checksum, and a closing {@code ~}.
+ * For example {@code ~sqsc11110<md5>~<base64 body>}. Headers with non-ASCII characters are rejected, so the header's
+ * length in chars and bytes match.
+ */
+record CodecBodyHeader(
+        CodecConfiguration configuration,
+        @Nullable String checksumValue,
+        int length) {
+
+    private static final String MAGIC = "~sqsc";
+    private static final char VERSION = '1';
+    private static final char TERMINATOR = '~';
+    private static final int PREFIX_LENGTH = MAGIC.length() + 5;
+
+    static boolean hasHeader(String body) {
+        return body.startsWith(MAGIC);
+    }
+
+    /**
+     * The configuration-dependent part of the header; the checksum and terminator follow per message.
+     */
+    static String prefix(CodecConfiguration configuration) {
+        return MAGIC
+                + VERSION
+                + code(configuration.compressionAlgorithm().code())
+                + code(configuration.encodingAlgorithm().code())
+                + code(configuration.checksumAlgorithm().code())
+                + code(configuration.checksumScope().code());
+    }
+
+    static String write(String prefix, @Nullable String checksumValue, String encodedBody) {
+        String checksum = checksumValue != null ? checksumValue : "";
+        return new StringBuilder(prefix.length() + checksum.length() + 1 + encodedBody.length())
+                .append(prefix)
+                .append(checksum)
+                .append(TERMINATOR)
+                .append(encodedBody)
+                .toString();
+    }
+
+    @Nullable
+    static CodecBodyHeader read(String body) {
+        if (!hasHeader(body)) {
+            return null;
+        }
+        int end = body.indexOf(TERMINATOR, Math.min(PREFIX_LENGTH, body.length()));
+        if (body.length() < PREFIX_LENGTH || end < 0) {
+            throw UnsupportedCodecConfigurationException.malformed(body.substring(0, Math.min(body.length(), PREFIX_LENGTH)));
+        }
+        for (int i = MAGIC.length(); i < end; i++) {
+            // callers slice the UTF-8 body at the header's char length, which only matches for ASCII
+            if (body.charAt(i) > 0x7F) {
+                throw UnsupportedCodecConfigurationException.malformed(body.substring(0, end));
+            }
+        }
+        char version = body.charAt(MAGIC.length());
+        if (version != VERSION) {
+            throw UnsupportedCodecConfigurationException.unsupportedVersion(String.valueOf(version));
+        }
+        int codes = MAGIC.length() + 1;
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.fromCode(code(body.charAt(codes))),
+                EncodingAlgorithm.fromCode(code(body.charAt(codes + 1))),
+                ChecksumAlgorithm.fromCode(code(body.charAt(codes + 2))),
+                ChecksumScope.fromCode(code(body.charAt(codes + 3))));
+        String checksumValue = end > PREFIX_LENGTH ? body.substring(PREFIX_LENGTH, end) : null;
+        return new CodecBodyHeader(configuration, checksumValue, end + 1);
+    }
+
+    private static char code(byte code) {
+        return Character.forDigit(code, Character.MAX_RADIX);
+    }
+
+    private static byte code(char code) {
+        return (byte) Character.digit(code, Character.MAX_RADIX);
+    }
+}
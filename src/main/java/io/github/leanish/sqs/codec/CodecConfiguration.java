@@ -5,16 +5,114 @@
  */
 package io.github.leanish.sqs.codec;
 
+import java.util.List;
+
 import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
 import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadCarrier;
+import io.github.leanish.sqs.codec.algorithms.PayloadFormat;
 
 /**
  * Immutable configuration for codec version, compression, encoding and checksum settings.
+ * {@code compressedAttributes} names the user attributes that were compressed into Binary attributes,
+ * {@code payloadCarrier} tells whether the payload is in the body or the {@code x-codec-payload} attribute,
+ * {@code payloadFormat} whether it is one message or an envelope of several.
  */
 public record CodecConfiguration(
         int version,
         CompressionAlgorithm compressionAlgorithm,
         EncodingAlgorithm encodingAlgorithm,
-        ChecksumAlgorithm checksumAlgorithm) {
+        ChecksumAlgorithm checksumAlgorithm,
+        ChecksumScope checksumScope,
+        List<String> compressedAttributes,
+        PayloadCarrier payloadCarrier,
+        PayloadFormat payloadFormat) {
+
+    public CodecConfiguration {
+        compressedAttributes = List.copyOf(compressedAttributes);
+    }
+
+    public CodecConfiguration(
+            int version,
+            CompressionAlgorithm compressionAlgorithm,
+            EncodingAlgorithm encodingAlgorithm,
+            ChecksumAlgorithm checksumAlgorithm,
+            ChecksumScope checksumScope,
+            List<String> compressedAttributes,
+            PayloadCarrier payloadCarrier) {
+        this(
+                version,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                PayloadFormat.SINGLE);
+    }
+
+    public CodecConfiguration(
+            int version,
+            CompressionAlgorithm compressionAlgorithm,
+            EncodingAlgorithm encodingAlgorithm,
+            ChecksumAlgorithm checksumAlgorithm,
+            ChecksumScope checksumScope,
+            List<String> compressedAttributes) {
+        this(version, compressionAlgorithm, encodingAlgorithm, checksumAlgorithm, checksumScope, compressedAttributes, PayloadCarrier.BODY);
+    }
+
+    public CodecConfiguration(
+            int version,
+            CompressionAlgorithm compressionAlgorithm,
+            EncodingAlgorithm encodingAlgorithm,
+            ChecksumAlgorithm checksumAlgorithm,
+            ChecksumScope checksumScope) {
+        this(version, compressionAlgorithm, encodingAlgorithm, checksumAlgorithm, checksumScope, List.of());
+    }
+
+    public CodecConfiguration(
+            int version,
+            CompressionAlgorithm compressionAlgorithm,
+            EncodingAlgorithm encodingAlgorithm,
+            ChecksumAlgorithm checksumAlgorithm) {
+        this(version, compressionAlgorithm, encodingAlgorithm, checksumAlgorithm, ChecksumScope.RAW);
+    }
+
+    public CodecConfiguration withCompressedAttributes(List<String> compressedAttributes) {
+        return new CodecConfiguration(
+                version,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                payloadFormat);
+    }
+
+    public CodecConfiguration withPayloadCarrier(PayloadCarrier payloadCarrier) {
+        return new CodecConfiguration(
+                version,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                payloadFormat);
+    }
+
+    public CodecConfiguration withPayloadFormat(PayloadFormat payloadFormat) {
+        return new CodecConfiguration(
+                version,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                payloadFormat);
+    }
 }
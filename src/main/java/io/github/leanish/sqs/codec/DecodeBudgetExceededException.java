@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+/**
+ * Thrown when a message is shed because the {@link DecodeMemoryBudget} stayed exhausted.
+ */
+public class DecodeBudgetExceededException extends CodecException {
+
+    private DecodeBudgetExceededException(String message) {
+        super(message);
+    }
+
+    static DecodeBudgetExceededException timedOut(long bytes) {
+        return new DecodeBudgetExceededException("Decode memory budget exhausted, could not reserve " + bytes + " bytes");
+    }
+
+    static DecodeBudgetExceededException interrupted(long bytes) {
+        return new DecodeBudgetExceededException("Interrupted while waiting to reserve " + bytes + " bytes of decode memory");
+    }
+}
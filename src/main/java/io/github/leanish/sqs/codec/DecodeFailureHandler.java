@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Receives messages that could not be decoded when the interceptor isolates decode failures.
+ * The message is the one received from SQS; it is delivered as-is, marked with {@code x-codec-error}.
+ * With a decoding executor it may be called from several threads at once.
+ */
+@FunctionalInterface
+public interface DecodeFailureHandler {
+
+    void onFailure(Message message, RuntimeException exception);
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Caps the bytes being decoded at once, shared by every interceptor (and thread) it is given to.
+ * Each decode reserves its encoded size plus its raw length before starting and releases it when done;
+ * a single reservation larger than the budget is clamped to it, so it runs alone instead of never.
+ */
+public final class DecodeMemoryBudget {
+
+    private final long maxBytes;
+    // negative waits indefinitely
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    // written under the lock, read without it
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    private DecodeMemoryBudget(long maxBytes, long maxWaitNanos) {
+        Validate.isTrue(maxBytes > 0, "Decode memory budget must be positive: %s", maxBytes);
+        this.maxBytes = maxBytes;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Blocks decoding threads until enough of the budget is released.
+     */
+    public static DecodeMemoryBudget blocking(long maxBytes) {
+        return new DecodeMemoryBudget(maxBytes, -1);
+    }
+
+    /**
+     * Waits up to {@code maxWait} for the budget, then fails the message with {@link DecodeBudgetExceededException}.
+     */
+    public static DecodeMemoryBudget shedding(long maxBytes, Duration maxWait) {
+        Validate.isTrue(!maxWait.isNegative(), "Decode memory budget wait must not be negative: %s", maxWait);
+        return new DecodeMemoryBudget(maxBytes, maxWait.toNanos());
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Bytes currently reserved by decodes in flight.
+     */
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Number of reservations that had to wait.
+     */
+    public long waits() {
+        return waits.sum();
+    }
+
+    /**
+     * Total time spent waiting for the budget.
+     */
+    public Duration waitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    /**
+     * Number of messages failed because the budget stayed exhausted.
+     */
+    public long shed() {
+        return shed.sum();
+    }
+
+    /**
+     * Returns the reserved bytes, to be passed to {@link #release(long)}.
+     */
+    long acquire(long bytes) {
+        Validate.isTrue(bytes >= 0, "Decode reservation must not be negative: %s", bytes);
+        long reserved = Math.min(bytes, maxBytes);
+        lock.lock();
+        try {
+            if (usedBytes.get() + reserved > maxBytes) {
+                awaitRelease(reserved);
+            }
+            usedBytes.addAndGet(reserved);
+        } finally {
+            lock.unlock();
+        }
+        return reserved;
+    }
+
+    void release(long reserved) {
+        lock.lock();
+        try {
+            usedBytes.addAndGet(-reserved);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitRelease(long reserved) {
+        waits.increment();
+        long start = System.nanoTime();
+        long remainingNanos = maxWaitNanos;
+        try {
+            while (usedBytes.get() + reserved > maxBytes) {
+                if (maxWaitNanos < 0) {
+                    released.await();
+                } else if (remainingNanos > 0) {
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                } else {
+                    shed.increment();
+                    throw DecodeBudgetExceededException.timedOut(reserved);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DecodeBudgetExceededException.interrupted(reserved);
+        } finally {
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+}
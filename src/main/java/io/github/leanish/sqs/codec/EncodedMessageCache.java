@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Least-recently-used cache of encoded messages, keyed by the raw body and user attributes, for producers that send
+ * the same payload repeatedly. Lookups use the body's cached {@link String#hashCode()} and only compare bodies on
+ * a hash match; concurrent misses may encode the same message twice.
+ */
+final class EncodedMessageCache {
+
+    private final LruCache<Key, OutboundPlan.EncodedMessage> entries;
+
+    EncodedMessageCache(int maxEntries) {
+        this.entries = new LruCache<>(maxEntries);
+    }
+
+    OutboundPlan.EncodedMessage encode(
+            String messageBody,
+            Map<String, MessageAttributeValue> messageAttributes,
+            BiFunction<String, Map<String, MessageAttributeValue>, OutboundPlan.EncodedMessage> encoder) {
+        Key key = new Key(messageBody, messageAttributes);
+        OutboundPlan.EncodedMessage encoded = entries.get(key);
+        if (encoded == null) {
+            encoded = encoder.apply(messageBody, messageAttributes);
+            entries.put(key, encoded);
+        }
+        return encoded;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Key(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thread-safe, approximately least-recently-used map backing the codec's lookup caches. Keys come from remote
+ * producers or callers, so the cache keeps the entries in current use rather than the first ones ever seen.
+ * Reads take no lock: they only stamp the entry with the current clock. Once a put overflows the cache, the
+ * entries with the oldest stamps are trimmed, plus a tenth of the capacity so the scan is not repeated on every put.
+ */
+final class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // advanced by 2 on every put; reads stamp clock + 1, ranking above the latest put and below the next one
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    LruCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Nullable
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long stamp = clock.get() + 1;
+        // skipping the write keeps hot entries from bouncing their cache line between reading threads
+        if (entry.lastUsed != stamp) {
+            entry.lastUsed = stamp;
+        }
+        return entry.value;
+    }
+
+    void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.addAndGet(2)));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        // a thread already trimming frees room for this put as well
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxEntries;
+            if (excess <= 0) {
+                return;
+            }
+            List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+            // stamps are copied so concurrent reads cannot reorder the entries while they are sorted
+            entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.lastUsed)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            int toRemove = Math.min(excess + maxEntries / 10, candidates.size());
+            for (int i = 0; i < toRemove; i++) {
+                Candidate<K, V> candidate = candidates.get(i);
+                // an entry replaced meanwhile is younger than its candidate and stays
+                entries.remove(candidate.key(), candidate.entry());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile long lastUsed;
+
+        private Entry(V value, long lastUsed) {
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastUsed) {
+    }
+}
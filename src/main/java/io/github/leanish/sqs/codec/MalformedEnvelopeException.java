@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+/**
+ * Thrown when an envelope body does not follow the {@link MessageEnvelope} framing.
+ */
+public class MalformedEnvelopeException extends CodecException {
+
+    private MalformedEnvelopeException(String message) {
+        super(message);
+    }
+
+    static MalformedEnvelopeException at(int offset) {
+        return new MalformedEnvelopeException("Malformed envelope frame at offset " + offset);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+import io.github.leanish.sqs.codec.algorithms.PayloadFormat;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import io.github.leanish.sqs.codec.attributes.CodecConfigurationAttributeHandler;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Framing of envelope messages ({@code f=envelope} in {@code x-codec-conf}), built by
+ * {@link SqsCodecInterceptor#preEncodeEnvelope(List, java.util.Map)}: the decoded body is each record as
+ * {@code <length>:<record>}, the length counting the record's chars in decimal. Records are expanded with
+ * {@link #records(Message)}; the envelope is still received, retried and deleted as one SQS message.
+ */
+public final class MessageEnvelope {
+
+    private MessageEnvelope() {
+    }
+
+    public static boolean isEnvelope(Message message) {
+        return message.messageAttributes().containsKey(CodecAttributes.CONF)
+                && CodecConfigurationAttributeHandler.fromAttributes(message.messageAttributes())
+                        .configuration()
+                        .payloadFormat() == PayloadFormat.ENVELOPE;
+    }
+
+    /**
+     * The records of a decoded envelope, or the body alone for any other message.
+     */
+    public static List<String> records(Message message) {
+        return isEnvelope(message) ? unframe(message.body()) : List.of(message.body());
+    }
+
+    static String frame(List<String> records) {
+        Validate.isTrue(!records.isEmpty(), "Envelope needs at least one record");
+        int length = 0;
+        for (String record : records) {
+            length += record.length() + 8;
+        }
+        StringBuilder body = new StringBuilder(length);
+        for (String record : records) {
+            body.append(record.length())
+                    .append(':')
+                    .append(record);
+        }
+        return body.toString();
+    }
+
+    static List<String> unframe(String body) {
+        List<String> records = new ArrayList<>();
+        int offset = 0;
+        while (offset < body.length()) {
+            int separator = body.indexOf(':', offset);
+            if (separator <= offset) {
+                throw MalformedEnvelopeException.at(offset);
+            }
+            int length;
+            try {
+                length = Integer.parseInt(body, offset, separator, 10);
+            } catch (NumberFormatException e) {
+                throw MalformedEnvelopeException.at(offset);
+            }
+            int start = separator + 1;
+            if (length < 0 || length > body.length() - start) {
+                throw MalformedEnvelopeException.at(offset);
+            }
+            records.add(body.substring(start, start + length));
+            offset = start + length;
+        }
+        if (records.isEmpty()) {
+            throw MalformedEnvelopeException.at(0);
+        }
+        return records;
+    }
+}
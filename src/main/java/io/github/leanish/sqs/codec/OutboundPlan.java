@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadCarrier;
+import io.github.leanish.sqs.codec.algorithms.encoding.InvalidPayloadException;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import io.github.leanish.sqs.codec.attributes.CodecConfigurationAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.CompactCodecAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.CompressedAttributesHandler;
+import io.github.leanish.sqs.codec.attributes.MessageAttributeUtils;
+import io.github.leanish.sqs.codec.attributes.PayloadChecksumAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.PayloadRawLengthAttributeHandler;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Outbound encoding resolved once per interceptor: the codec, the conf attribute value (v1) or body header prefix and,
+ * when bodies are sent unencoded, the base64 plan used for bodies SQS would reject.
+ * Per-message work is limited to the payload-dependent parts.
+ */
+final class OutboundPlan {
+
+    // conf, raw length, checksum and payload
+    private static final int CODEC_ATTRIBUTE_COUNT = 4;
+    // SQS rejects empty bodies
+    private static final String CARRIED_PAYLOAD_BODY = "-";
+
+    private final CodecConfiguration configuration;
+    private final Codec codec;
+    @Nullable
+    private final MessageAttributeValue confAttribute;
+    // set when the configuration travels in the body instead of attributes
+    @Nullable
+    private final String headerPrefix;
+    // String user attributes at least this large (UTF-8 bytes) are compressed; 0 disables it
+    private final int attributeCompressionThreshold;
+    @Nullable
+    private final OutboundPlan invalidCharactersPlan;
+
+    private OutboundPlan(
+            CodecConfiguration configuration,
+            boolean bodyHeader,
+            int attributeCompressionThreshold,
+            @Nullable OutboundPlan invalidCharactersPlan) {
+        CodecConfigurationAttributeHandler handler = CodecConfigurationAttributeHandler.forOutbound(configuration);
+        this.configuration = handler.configuration();
+        this.codec = Codec.forConfiguration(this.configuration);
+        this.confAttribute = bodyHeader || isCompact(configuration) ? null : handler.attributeValue();
+        this.headerPrefix = bodyHeader ? CodecBodyHeader.prefix(this.configuration) : null;
+        // the compressed attribute names are recorded in x-codec-conf, so only the v1 format supports it
+        this.attributeCompressionThreshold = confAttribute != null && configuration.compressionAlgorithm() != CompressionAlgorithm.NONE
+                ? attributeCompressionThreshold
+                : 0;
+        this.invalidCharactersPlan = invalidCharactersPlan;
+    }
+
+    static OutboundPlan of(CodecConfiguration configuration) {
+        return of(configuration, false, 0);
+    }
+
+    static OutboundPlan of(CodecConfiguration configuration, boolean bodyHeader, int attributeCompressionThreshold) {
+        if (configuration.payloadCarrier() == PayloadCarrier.ATTRIBUTE) {
+            if (!bodyHeader && !isCompact(configuration)) {
+                // the placeholder body is always valid, so no base64 fallback is needed
+                return new OutboundPlan(configuration, false, attributeCompressionThreshold, null);
+            }
+            // only x-codec-conf can record the carrier
+            return of(configuration.withPayloadCarrier(PayloadCarrier.BODY), bodyHeader, attributeCompressionThreshold);
+        }
+        EncodingAlgorithm effectiveEncoding = EncodingAlgorithm.effectiveFor(
+                configuration.compressionAlgorithm(),
+                configuration.encodingAlgorithm());
+        if (effectiveEncoding != EncodingAlgorithm.NONE) {
+            return new OutboundPlan(configuration, bodyHeader, attributeCompressionThreshold, null);
+        }
+        OutboundPlan base64Plan = new OutboundPlan(
+                new CodecConfiguration(
+                        configuration.version(),
+                        configuration.compressionAlgorithm(),
+                        EncodingAlgorithm.BASE64,
+                        configuration.checksumAlgorithm(),
+                        configuration.checksumScope(),
+                        List.of(),
+                        PayloadCarrier.BODY,
+                        configuration.payloadFormat()),
+                bodyHeader,
+                attributeCompressionThreshold,
+                null);
+        return new OutboundPlan(configuration, bodyHeader, attributeCompressionThreshold, base64Plan);
+    }
+
+    CodecConfiguration configuration() {
+        return configuration;
+    }
+
+    OutboundPlan planFor(String messageBody) {
+        if (invalidCharactersPlan != null && !SqsMessageCharacters.isValid(messageBody)) {
+            // SQS would reject the raw body, so ship it base64-encoded instead of failing the call
+            return invalidCharactersPlan;
+        }
+        return this;
+    }
+
+    EncodedMessage encode(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        byte[] payloadBytes = utf8Bytes(messageBody);
+
+        byte[] encodedBytes = codec.encode(payloadBytes);
+        byte[] checksummedBytes = configuration.checksumScope() == ChecksumScope.ENCODED ? encodedBytes : payloadBytes;
+
+        if (headerPrefix != null) {
+            String checksumValue = PayloadChecksumAttributeHandler.checksumFor(configuration.checksumAlgorithm(), checksummedBytes);
+            String body = CodecBodyHeader.write(headerPrefix, checksumValue, new String(encodedBytes, StandardCharsets.UTF_8));
+            return new EncodedMessage(body, messageAttributes);
+        }
+
+        Map<String, MessageAttributeValue> attributes;
+        if (confAttribute == null) {
+            attributes = HashMap.newHashMap(messageAttributes.size() + 1);
+            attributes.putAll(messageAttributes);
+            CompactCodecAttributeHandler.forOutbound(configuration, payloadBytes.length, checksummedBytes)
+                    .applyTo(attributes);
+        } else {
+            attributes = HashMap.newHashMap(messageAttributes.size() + CODEC_ATTRIBUTE_COUNT);
+            attributes.putAll(messageAttributes);
+            attributes.put(CodecAttributes.CONF, confAttributeFor(confAttribute, attributes));
+            PayloadRawLengthAttributeHandler.forOutbound(payloadBytes.length)
+                    .applyTo(attributes);
+            PayloadChecksumAttributeHandler.forOutbound(configuration.checksumAlgorithm(), checksummedBytes)
+                    .applyTo(attributes);
+            if (configuration.payloadCarrier() == PayloadCarrier.ATTRIBUTE) {
+                attributes.put(CodecAttributes.PAYLOAD, MessageAttributeUtils.binaryAttribute(encodedBytes));
+                return new EncodedMessage(CARRIED_PAYLOAD_BODY, attributes);
+            }
+        }
+
+        return new EncodedMessage(new String(encodedBytes, StandardCharsets.UTF_8), attributes);
+    }
+
+    private MessageAttributeValue confAttributeFor(
+            MessageAttributeValue uncompressedConfAttribute,
+            Map<String, MessageAttributeValue> attributes) {
+        if (attributeCompressionThreshold <= 0) {
+            return uncompressedConfAttribute;
+        }
+        List<String> compressedAttributes = CompressedAttributesHandler.compress(
+                attributes,
+                configuration.compressionAlgorithm(),
+                attributeCompressionThreshold);
+        if (compressedAttributes.isEmpty()) {
+            return uncompressedConfAttribute;
+        }
+        return CodecConfigurationAttributeHandler.forOutbound(configuration.withCompressedAttributes(compressedAttributes))
+                .attributeValue();
+    }
+
+    /**
+     * {@link String#getBytes} silently turns unpaired surrogates into {@code '?'}, which would then be checksummed
+     * and delivered as if it were the payload; only bodies whose bytes contain {@code '?'} need the strict check.
+     */
+    private static byte[] utf8Bytes(String messageBody) {
+        byte[] bytes = messageBody.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            if (b == '?') {
+                try {
+                    StandardCharsets.UTF_8.newEncoder()
+                            .onMalformedInput(CodingErrorAction.REPORT)
+                            .onUnmappableCharacter(CodingErrorAction.REPORT)
+                            .encode(CharBuffer.wrap(messageBody));
+                } catch (CharacterCodingException e) {
+                    throw new InvalidPayloadException("Message body contains an unpaired surrogate", e);
+                }
+                break;
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean isCompact(CodecConfiguration configuration) {
+        return configuration.version() == CodecAttributes.COMPACT_VERSION_VALUE;
+    }
+
+    record EncodedMessage(String body, Map<String, MessageAttributeValue> attributes) {
+    }
+}
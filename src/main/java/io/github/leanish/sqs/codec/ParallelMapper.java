@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Maps list elements on an executor while keeping the sequential contract: results are in input order and the
+ * failure of the first failing element (in input order) is rethrown as-is.
+ * The calling thread blocks until the offloaded elements are done, so the executor must not be a bounded pool the
+ * caller itself runs on: with every worker waiting, the queued elements would never start.
+ */
+final class ParallelMapper {
+
+    private ParallelMapper() {
+    }
+
+    static <T, R> List<R> map(List<T> values, Function<T, R> mapper, Executor executor) {
+        return map(values, mapper, executor, value -> 0, 0);
+    }
+
+    /**
+     * Offloads the elements weighing at least {@code threshold}, heaviest first so the longest tasks start earliest,
+     * and maps the lighter ones on the calling thread meanwhile. The calling thread always maps at least one element
+     * rather than only waiting, so the lightest one is kept when every element qualifies.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> List<R> map(List<T> values, Function<T, R> mapper, Executor executor, ToIntFunction<T> weight, int threshold) {
+        CompletableFuture<R>[] futures = new CompletableFuture[values.size()];
+        List<Integer> offloaded = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (weight.applyAsInt(values.get(i)) >= threshold) {
+                offloaded.add(i);
+            }
+        }
+        offloaded.sort(Comparator.comparingInt((Integer index) -> weight.applyAsInt(values.get(index))).reversed());
+        if (!offloaded.isEmpty() && offloaded.size() == values.size()) {
+            offloaded.removeLast();
+        }
+        for (int index : offloaded) {
+            T value = values.get(index);
+            futures[index] = CompletableFuture.supplyAsync(() -> mapper.apply(value), executor);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            if (futures[i] == null) {
+                futures[i] = mapInline(values.get(i), mapper);
+            }
+        }
+        List<R> results = new ArrayList<>(values.size());
+        for (CompletableFuture<R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T, R> CompletableFuture<R> mapInline(T value, Function<T, R> mapper) {
+        try {
+            return CompletableFuture.completedFuture(mapper.apply(value));
+        } catch (RuntimeException e) {
+            // an earlier offloaded element may still fail first
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.Map;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Message body and attributes (user and codec) encoded once by {@link SqsCodecInterceptor#preEncode(String, Map)},
+ * to be attached to any number of send requests or batch entries. {@link #applyTo(SendMessageRequest.Builder)} marks
+ * the request with an execution attribute, so interceptors send it as-is without inspecting it; call it after any
+ * {@code overrideConfiguration} on the builder, which would replace the mark. Batches are marked with
+ * {@link #markPreEncoded(SendMessageBatchRequest.Builder)}; unmarked ones have each entry's codec attributes detected.
+ */
+public record PreEncodedMessage(String body, Map<String, MessageAttributeValue> messageAttributes) {
+
+    public PreEncodedMessage {
+        messageAttributes = Map.copyOf(messageAttributes);
+    }
+
+    public SendMessageRequest.Builder applyTo(SendMessageRequest.Builder builder) {
+        putPreEncoded(builder);
+        return builder
+                .messageBody(body)
+                .messageAttributes(messageAttributes);
+    }
+
+    public SendMessageBatchRequestEntry.Builder applyTo(SendMessageBatchRequestEntry.Builder builder) {
+        return builder
+                .messageBody(body)
+                .messageAttributes(messageAttributes);
+    }
+
+    /**
+     * Marks a batch whose entries all come from {@link #applyTo(SendMessageBatchRequestEntry.Builder)}.
+     */
+    public static SendMessageBatchRequest.Builder markPreEncoded(SendMessageBatchRequest.Builder builder) {
+        putPreEncoded(builder);
+        return builder;
+    }
+
+    private static void putPreEncoded(AwsRequest.Builder builder) {
+        AwsRequestOverrideConfiguration configuration = builder.overrideConfiguration();
+        AwsRequestOverrideConfiguration.Builder marked = configuration != null
+                ? configuration.toBuilder()
+                : AwsRequestOverrideConfiguration.builder();
+        builder.overrideConfiguration(marked
+                .putExecutionAttribute(SqsCodecInterceptor.PRE_ENCODED, true)
+                .build());
+    }
+}
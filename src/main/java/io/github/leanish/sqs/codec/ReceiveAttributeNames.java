@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+
+/**
+ * Adds the codec attributes to {@code ReceiveMessage} attribute names. Consumers poll with the same few lists,
+ * so augmented lists are cached per distinct input and looked up without locking, and lists that already cover
+ * the codec attributes (by name, {@code All}, {@code .*} or a matching prefix wildcard) are checked without
+ * allocating.
+ */
+final class ReceiveAttributeNames {
+
+    static final int MAX_CACHED_LISTS = 64;
+    // covers x-codec and every x-codec-* attribute; shorter than listing them
+    static final String CODEC_WILDCARD = CodecAttributes.COMPACT + ".*";
+
+    private static final String ALL = "All";
+    private static final String WILDCARD_SUFFIX = ".*";
+    private static final List<String> CODEC_ATTRIBUTE_NAMES = List.of(
+            CodecAttributes.CONF,
+            CodecAttributes.CHECKSUM,
+            CodecAttributes.RAW_LENGTH,
+            CodecAttributes.COMPACT,
+            CodecAttributes.PAYLOAD);
+    private static final int ALL_CODEC_ATTRIBUTES = (1 << CODEC_ATTRIBUTE_NAMES.size()) - 1;
+    private static final LruCache<List<String>, List<String>> AUGMENTED_LISTS = new LruCache<>(MAX_CACHED_LISTS);
+
+    private ReceiveAttributeNames() {
+    }
+
+    /**
+     * Whether the names already request every codec attribute; checked on each poll, so it does not allocate.
+     */
+    static boolean coversCodecAttributes(List<String> attributeNames) {
+        int covered = 0;
+        for (int i = 0; i < attributeNames.size(); i++) {
+            String name = attributeNames.get(i);
+            if (ALL.equals(name) || WILDCARD_SUFFIX.equals(name)) {
+                return true;
+            }
+            covered |= coveredCodecAttributes(name);
+            if (covered == ALL_CODEC_ATTRIBUTES) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The names plus the codec wildcard, with explicit codec names dropped; for lists not covering the codec attributes.
+     */
+    static List<String> withCodecAttributes(List<String> attributeNames) {
+        List<String> cached = AUGMENTED_LISTS.get(attributeNames);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> augmented = augment(attributeNames);
+        AUGMENTED_LISTS.put(List.copyOf(attributeNames), augmented);
+        return augmented;
+    }
+
+    static int cachedLists() {
+        return AUGMENTED_LISTS.size();
+    }
+
+    static void clearCachedLists() {
+        AUGMENTED_LISTS.clear();
+    }
+
+    private static int coveredCodecAttributes(String name) {
+        boolean wildcard = name.endsWith(WILDCARD_SUFFIX);
+        int prefixLength = wildcard ? name.length() - WILDCARD_SUFFIX.length() : name.length();
+        int covered = 0;
+        for (int i = 0; i < CODEC_ATTRIBUTE_NAMES.size(); i++) {
+            String codecName = CODEC_ATTRIBUTE_NAMES.get(i);
+            boolean matches = wildcard
+                    ? codecName.regionMatches(0, name, 0, prefixLength)
+                    : codecName.equals(name);
+            if (matches) {
+                covered |= 1 << i;
+            }
+        }
+        return covered;
+    }
+
+    private static List<String> augment(List<String> attributeNames) {
+        List<String> augmented = new ArrayList<>(attributeNames.size() + 1);
+        for (String name : attributeNames) {
+            // explicit codec names are redundant next to the wildcard
+            if (coveredCodecAttributes(name) == 0 && !augmented.contains(name)) {
+                augmented.add(name);
+            }
+        }
+        augmented.add(CODEC_WILDCARD);
+        return List.copyOf(augmented);
+    }
+}
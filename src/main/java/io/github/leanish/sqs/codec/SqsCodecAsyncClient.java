@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.services.sqs.DelegatingSqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsRequest;
+
+/**
+ * {@link SqsAsyncClient} that applies the {@link SqsCodecInterceptor} rules outside the SDK: requests are encoded on
+ * {@code executor} before they reach the delegate and responses are decoded on it after they complete, so no
+ * compression runs on SDK I/O or completion threads.
+ * Only {@code sendMessage}, {@code sendMessageBatch} and {@code receiveMessage} are encoded or decoded; every other
+ * operation goes to the delegate as-is, and {@link #batchManager()} is unsupported since its batches would bypass
+ * the codec (use {@link SqsCodecBatchSender} instead). A saturated executor fails the returned future instead of
+ * throwing.
+ * The delegate must not have the interceptor registered, and the executor is not shut down on {@link #close()}.
+ * When the interceptor has an encoding or decoding executor, it must differ from {@code executor} unless the latter
+ * is unbounded: a batch encoded on a bounded pool would otherwise wait on entries queued behind it on that same pool.
+ */
+public final class SqsCodecAsyncClient extends DelegatingSqsAsyncClient {
+
+    private final SqsCodecInterceptor interceptor;
+    private final Executor executor;
+
+    private SqsCodecAsyncClient(SqsAsyncClient delegate, SqsCodecInterceptor interceptor, Executor executor) {
+        super(delegate);
+        this.interceptor = interceptor;
+        this.executor = executor;
+    }
+
+    public static SqsCodecAsyncClient wrap(SqsAsyncClient delegate, SqsCodecInterceptor interceptor, Executor executor) {
+        return new SqsCodecAsyncClient(delegate, interceptor, executor);
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        return supplyOnExecutor(() -> (SendMessageRequest) codecFor(request).modifyRequest(request))
+                .thenCompose(encoded -> super.sendMessage(encoded)
+                        .thenApplyAsync(response -> (SendMessageResponse) interceptor.modifyResponse(response, encoded), executor));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        return supplyOnExecutor(() -> (SendMessageBatchRequest) codecFor(request).modifyRequest(request))
+                .thenCompose(encoded -> super.sendMessageBatch(encoded)
+                        .thenApplyAsync(response -> (SendMessageBatchResponse) interceptor.modifyResponse(response, encoded), executor));
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        // only the attribute names change here, which is cheap enough for the calling thread
+        ReceiveMessageRequest prepared = (ReceiveMessageRequest) interceptor.modifyRequest(request);
+        return super.receiveMessage(prepared)
+                .thenApplyAsync(response -> (ReceiveMessageResponse) interceptor.modifyResponse(response, prepared), executor);
+    }
+
+    /**
+     * Always throws: the batch manager sends through the delegate's own batching, which would skip the codec.
+     */
+    @Override
+    public SqsAsyncBatchManager batchManager() {
+        throw new UnsupportedOperationException("SqsCodecAsyncClient has no batch manager; use SqsCodecBatchSender");
+    }
+
+    private <T> CompletableFuture<T> supplyOnExecutor(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            // the SDK client reports failures through the future, never by throwing
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private SqsCodecInterceptor codecFor(SqsRequest request) {
+        // mirrors SqsCodecInterceptor.CODEC_OVERRIDE, which the SDK would otherwise hand to the interceptor
+        return request.overrideConfiguration()
+                .map(configuration -> configuration.executionAttributes().getAttribute(SqsCodecInterceptor.CODEC_OVERRIDE))
+                .orElse(interceptor);
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.Validate;
+import org.jspecify.annotations.Nullable;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+/**
+ * Buffers messages for one queue and sends them as {@link SendMessageBatchRequest}s. Messages are encoded by
+ * {@link SqsCodecInterceptor#preEncode(String, Map)} when they arrive, so batches are packed against their exact
+ * encoded size: a batch is sent when the next message would overflow
+ * {@link BatchSenderSettings#maxBatchBytes()}, when it holds 10 entries, or when its first message has waited
+ * {@link BatchSenderSettings#linger()}.
+ * Entries failing without a sender fault are resent on the scheduler as they were encoded, without the rest of their
+ * batch, after an exponential backoff with full jitter ({@link BatchSenderSettings#retryBackoff()}); whole-call
+ * failures are left to the SDK retry policy.
+ * FIFO queues are rejected: entries carry no message group or deduplication id, and resending single entries would
+ * reorder their group.
+ * Once {@link BatchSenderSettings#maxPendingMessages()} messages are unresolved, {@code send} blocks until one completes.
+ * Neither the client nor the scheduler is closed on {@link #close()}.
+ */
+public final class SqsCodecBatchSender implements AutoCloseable {
+
+    private static final int MAX_BATCH_ENTRIES = 10;
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final SqsCodecInterceptor interceptor;
+    private final ScheduledExecutorService scheduler;
+    private final BatchSenderSettings settings;
+    private final Semaphore pending;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private List<PendingEntry> buffer = new ArrayList<>(MAX_BATCH_ENTRIES);
+    private int bufferBytes;
+    // bumped on every drain so a stale linger task does not flush a younger batch early
+    private long generation;
+    private boolean closed;
+
+    private SqsCodecBatchSender(
+            SqsAsyncClient client,
+            String queueUrl,
+            SqsCodecInterceptor interceptor,
+            ScheduledExecutorService scheduler,
+            BatchSenderSettings settings) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+        this.interceptor = interceptor;
+        this.scheduler = scheduler;
+        this.settings = settings;
+        this.pending = new Semaphore(settings.maxPendingMessages());
+    }
+
+    public static SqsCodecBatchSender create(
+            SqsAsyncClient client,
+            String queueUrl,
+            SqsCodecInterceptor interceptor,
+            ScheduledExecutorService scheduler,
+            BatchSenderSettings settings) {
+        Validate.isTrue(!queueUrl.endsWith(".fifo"), "FIFO queues are not supported: %s", queueUrl);
+        return new SqsCodecBatchSender(client, queueUrl, interceptor, scheduler, settings);
+    }
+
+    public CompletableFuture<SendMessageBatchResultEntry> send(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        return send(interceptor.preEncode(messageBody, messageAttributes));
+    }
+
+    public CompletableFuture<SendMessageBatchResultEntry> send(PreEncodedMessage message) {
+        int size = size(message);
+        if (size > settings.maxBatchBytes()) {
+            return CompletableFuture.failedFuture(BatchSendException.tooLarge(size, settings.maxBatchBytes()));
+        }
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(BatchSendException.interrupted());
+        }
+        PendingEntry entry = new PendingEntry(message, size, new CompletableFuture<>(), 1);
+        entry.future().whenComplete((result, error) -> pending.release());
+
+        List<PendingEntry> ready = null;
+        lock.lock();
+        try {
+            if (closed) {
+                entry.future().completeExceptionally(BatchSendException.closed());
+                return entry.future();
+            }
+            if (bufferBytes + size > settings.maxBatchBytes()) {
+                ready = drain();
+            }
+            buffer.add(entry);
+            bufferBytes += size;
+            if (buffer.size() == MAX_BATCH_ENTRIES) {
+                ready = drain();
+            } else if (buffer.size() == 1) {
+                try {
+                    scheduleLinger(generation);
+                } catch (RejectedExecutionException e) {
+                    // without a linger task nothing would send the entry; failing it also releases its permit
+                    drain();
+                    entry.future().completeExceptionally(e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) {
+            sendBatch(ready);
+        }
+        return entry.future();
+    }
+
+    /**
+     * Sends the buffered messages now instead of waiting for the batch to fill up or linger out.
+     */
+    public void flush() {
+        List<PendingEntry> ready;
+        lock.lock();
+        try {
+            ready = drain();
+        } finally {
+            lock.unlock();
+        }
+        sendBatch(ready);
+    }
+
+    /**
+     * Sends the buffered messages and rejects further ones; in-flight sends still complete their futures.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        flush();
+    }
+
+    private void scheduleLinger(long lingerGeneration) {
+        scheduler.schedule(() -> flushIfUnchanged(lingerGeneration), settings.linger().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void flushIfUnchanged(long lingerGeneration) {
+        List<PendingEntry> ready = List.of();
+        lock.lock();
+        try {
+            if (generation == lingerGeneration) {
+                ready = drain();
+            }
+        } finally {
+            lock.unlock();
+        }
+        sendBatch(ready);
+    }
+
+    private List<PendingEntry> drain() {
+        List<PendingEntry> drained = buffer;
+        buffer = new ArrayList<>(MAX_BATCH_ENTRIES);
+        bufferBytes = 0;
+        generation++;
+        return drained;
+    }
+
+    private void sendBatch(List<PendingEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            requestEntries.add(entries.get(i).message()
+                    .applyTo(SendMessageBatchRequestEntry.builder().id(Integer.toString(i)))
+                    .build());
+        }
+        SendMessageBatchRequest request = PreEncodedMessage.markPreEncoded(SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(requestEntries))
+                .build();
+        CompletableFuture<SendMessageBatchResponse> response;
+        try {
+            response = client.sendMessageBatch(request);
+        } catch (RuntimeException e) {
+            complete(entries, null, e);
+            return;
+        }
+        response.whenComplete((result, error) -> complete(entries, result, error));
+    }
+
+    private void complete(List<PendingEntry> entries, @Nullable SendMessageBatchResponse response, @Nullable Throwable error) {
+        if (response == null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            entries.forEach(entry -> entry.future().completeExceptionally(cause));
+            return;
+        }
+        for (SendMessageBatchResultEntry result : response.successful()) {
+            entries.get(Integer.parseInt(result.id())).future().complete(result);
+        }
+        List<PendingEntry> retries = new ArrayList<>();
+        for (BatchResultErrorEntry failure : response.failed()) {
+            PendingEntry entry = entries.get(Integer.parseInt(failure.id()));
+            if (!Boolean.TRUE.equals(failure.senderFault()) && entry.attempt() < settings.maxAttempts()) {
+                retries.add(entry.nextAttempt());
+            } else {
+                entry.future().completeExceptionally(BatchSendException.entryFailed(failure));
+            }
+        }
+        for (PendingEntry entry : entries) {
+            // an entry SQS reported neither way would otherwise hold its pending permit forever
+            if (!entry.future().isDone() && retries.stream().noneMatch(retry -> retry.future() == entry.future())) {
+                entry.future().completeExceptionally(BatchSendException.missingResult());
+            }
+        }
+        scheduleRetries(retries);
+    }
+
+    // retried entries of one batch share their attempt number, hence one delay for the resent batch
+    private void scheduleRetries(List<PendingEntry> retries) {
+        if (retries.isEmpty()) {
+            return;
+        }
+        long backoff = settings.retryBackoff().toNanos();
+        int exponent = retries.getFirst().attempt() - 2;
+        // saturates instead of overflowing however large maxAttempts is
+        long maxDelay = exponent < Long.numberOfLeadingZeros(backoff) - 1 ? backoff << exponent : Long.MAX_VALUE - 1;
+        long delay = maxDelay > 0 ? ThreadLocalRandom.current().nextLong(maxDelay + 1) : 0;
+        try {
+            scheduler.schedule(() -> sendBatch(retries), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            retries.forEach(entry -> entry.future().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Size as counted by SQS against its limit: the body plus each attribute's name, data type and value.
+     */
+    static int size(PreEncodedMessage message) {
+        int size = utf8Length(message.body());
+        for (Map.Entry<String, MessageAttributeValue> attribute : message.messageAttributes().entrySet()) {
+            MessageAttributeValue value = attribute.getValue();
+            size += utf8Length(attribute.getKey()) + utf8Length(value.dataType());
+            if (value.stringValue() != null) {
+                size += utf8Length(value.stringValue());
+            } else if (value.binaryValue() != null) {
+                size += value.binaryValue().asByteArrayUnsafe().length;
+            }
+        }
+        return size;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private record PendingEntry(PreEncodedMessage message, int size, CompletableFuture<SendMessageBatchResultEntry> future, int attempt) {
+
+        PendingEntry nextAttempt() {
+            return new PendingEntry(message, size, future, attempt + 1);
+        }
+    }
+}
@@ -6,28 +6,40 @@
 package io.github.leanish.sqs.codec;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.Nullable;
 
 import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
 import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadCarrier;
+import io.github.leanish.sqs.codec.algorithms.PayloadFormat;
+import io.github.leanish.sqs.codec.attributes.ChecksumValidationException;
 import io.github.leanish.sqs.codec.attributes.CodecAttributes;
 import io.github.leanish.sqs.codec.attributes.CodecConfigurationAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.CompactCodecAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.CompressedAttributesHandler;
 import io.github.leanish.sqs.codec.attributes.MessageAttributeUtils;
 import io.github.leanish.sqs.codec.attributes.PayloadChecksumAttributeHandler;
-import io.github.leanish.sqs.codec.attributes.PayloadRawLengthAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.SqsMessageMd5;
+import io.github.leanish.sqs.codec.attributes.UnsupportedCodecConfigurationException;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.With;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -36,7 +48,11 @@ import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsRequest;
 
 /**
  * AWS SDK v2 execution interceptor that encodes/decodes SQS message bodies and manages codec attributes.
@@ -45,180 +61,586 @@ import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class SqsCodecInterceptor implements ExecutionInterceptor {
 
+    /**
+     * Per-call override: send requests carrying this execution attribute (set through the request's
+     * {@code overrideConfiguration(c -> c.putExecutionAttribute(CODEC_OVERRIDE, interceptor))}) are encoded with
+     * that interceptor's send settings. Reusing a few preset interceptors keeps their outbound plans precomputed.
+     */
+    public static final ExecutionAttribute<SqsCodecInterceptor> CODEC_OVERRIDE = new ExecutionAttribute<>("SqsCodecOverride");
+
+    /**
+     * Set on send requests built with {@link PreEncodedMessage}: they are sent as-is, without detecting or validating
+     * their codec attributes (a body-header message has none, so detection could encode it again).
+     */
+    static final ExecutionAttribute<Boolean> PRE_ENCODED = new ExecutionAttribute<>("SqsCodecPreEncoded");
+
+    private static final int DEFAULT_PARALLEL_ENCODING_THRESHOLD = 64 * 1024;
+    private static final int DEFAULT_PARALLEL_DECODING_THRESHOLD = 16 * 1024;
+    private static final int MAX_RESOLVED_QUEUE_CODECS = 256;
+    private static final String QUEUE_NAME_WILDCARD = "*";
+    private static final int UNKNOWN_RAW_LENGTH_FACTOR = 4;
+
     private static final SqsCodecInterceptor DEFAULT = new SqsCodecInterceptor(
             CompressionAlgorithm.NONE,
             EncodingAlgorithm.NONE,
-            ChecksumAlgorithm.MD5);
-    private static final List<String> CODEC_ATTRIBUTE_NAMES = List.of(
-            CodecAttributes.CONF,
-            CodecAttributes.CHECKSUM,
-            CodecAttributes.RAW_LENGTH);
+            ChecksumAlgorithm.MD5,
+            ChecksumScope.RAW,
+            ChecksumVerificationPolicy.always(),
+            Map.of(),
+            false,
+            false,
+            false,
+            0,
+            false,
+            null,
+            DEFAULT_PARALLEL_ENCODING_THRESHOLD,
+            null,
+            DEFAULT_PARALLEL_DECODING_THRESHOLD,
+            null,
+            Map.of(),
+            null,
+            0);
 
     private final CompressionAlgorithm compressionAlgorithm;
     private final EncodingAlgorithm encodingAlgorithm;
     private final ChecksumAlgorithm checksumAlgorithm;
+    private final ChecksumScope checksumScope;
+    private final ChecksumVerificationPolicy checksumVerificationPolicy;
+    // keyed by queue URL or queue name; queues not listed use checksumVerificationPolicy; the public wither stores a copy
+    @With(AccessLevel.PRIVATE)
+    private final Map<String, ChecksumVerificationPolicy> queueChecksumPolicies;
+    // validates SQS MD5OfBody/MD5OfMessageAttributes in place of the SDK (checksumValidationEnabled(false))
+    private final boolean serviceChecksumValidation;
+    // opt-in until every consumer reads v2; v1 and v2 messages are always decoded
+    private final boolean compactAttributes;
+    // configuration travels in a body header instead of attributes; receive requests are left as-is
+    private final boolean bodyHeader;
+    // String user attributes of at least this many UTF-8 bytes are compressed into Binary attributes; 0 disables it
+    private final int attributeCompressionThreshold;
+    // payload bytes travel in the Binary x-codec-payload attribute (no base64); only v1 attributes can describe it
+    private final boolean binaryPayloadCarrier;
+    // encodes batch entries concurrently when set (for example a virtual-thread executor); the interceptor never shuts it down.
+    // The sending thread waits for the entries, so this must not be a bounded pool that itself calls sendMessageBatch
+    @Nullable
+    private final Executor encodingExecutor;
+    // batches whose bodies total fewer chars than this are encoded on the calling thread
+    private final int parallelEncodingThreshold;
+    // decodes received messages concurrently when set; the interceptor never shuts it down
+    @Nullable
+    private final Executor decodingExecutor;
+    // messages with a smaller encoded size (body plus x-codec-payload) are decoded on the calling thread, larger ones on decodingExecutor
+    private final int parallelDecodingThreshold;
+    // when set, a message failing to decode is delivered as-is (marked with x-codec-error) instead of failing the whole response
+    @Nullable
+    private final DecodeFailureHandler decodeFailureHandler;
+    // keyed by queue URL, queue name or queue name prefix ending in '*'; sends to listed queues use that interceptor's send settings.
+    // The public withQueueCodecInterceptors stores a copy, so the resolved entries cannot go stale
+    @With(AccessLevel.PRIVATE)
+    private final Map<String, SqsCodecInterceptor> queueCodecs;
+    // caps the bytes being decoded at once; share one instance across interceptors to cap the whole process
+    @Nullable
+    private final DecodeMemoryBudget decodeMemoryBudget;
+    // encoded messages kept for repeated sends of the same body and attributes; 0 disables the cache
+    private final int encodedMessageCacheSize;
+    // queue URL -> entry of queueCodecs (or this), so each send costs one lookup
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final LruCache<String, SqsCodecInterceptor> resolvedQueueCodecs = new LruCache<>(MAX_RESOLVED_QUEUE_CODECS);
+    // resolved on first use; initialized final fields are left out of the constructor and withers, so each derived instance gets its own
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final OutboundPlan outboundPlan = OutboundPlan.of(configuration(), bodyHeader, attributeCompressionThreshold);
+    // only x-codec-conf can record the envelope format, so envelopes use v1 attributes whatever the send settings
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final OutboundPlan envelopeOutboundPlan = OutboundPlan.of(envelopeConfiguration(), false, attributeCompressionThreshold);
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final EncodedMessageCache encodedMessageCache = new EncodedMessageCache(encodedMessageCacheSize);
 
     @Override
     public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
-        SdkRequest request = context.request();
+        SqsCodecInterceptor override = executionAttributes.getAttribute(CODEC_OVERRIDE);
+        if (override != null) {
+            return override.modifyRequest(context.request());
+        }
+        return modifyRequest(context.request());
+    }
+
+    @Override
+    public SdkResponse modifyResponse(Context.ModifyResponse context, ExecutionAttributes executionAttributes) {
+        return modifyResponse(context.response(), context.request());
+    }
+
+    SdkRequest modifyRequest(SdkRequest request) {
         if (request instanceof SendMessageRequest sendMessageRequest) {
-            return encodeSendMessage(sendMessageRequest);
+            if (isPreEncoded(sendMessageRequest)) {
+                return request;
+            }
+            return codecFor(sendMessageRequest.queueUrl()).encodeSendMessage(sendMessageRequest);
         }
         if (request instanceof SendMessageBatchRequest sendMessageBatchRequest) {
-            return encodeSendMessageBatch(sendMessageBatchRequest);
+            if (isPreEncoded(sendMessageBatchRequest)) {
+                return request;
+            }
+            return codecFor(sendMessageBatchRequest.queueUrl()).encodeSendMessageBatch(sendMessageBatchRequest);
         }
-        if (request instanceof ReceiveMessageRequest receiveMessageRequest) {
+        if (request instanceof ReceiveMessageRequest receiveMessageRequest && !bodyHeader) {
             return ensureCodecAttributesRequested(receiveMessageRequest);
         }
         return request;
     }
 
-    @Override
-    public SdkResponse modifyResponse(Context.ModifyResponse context, ExecutionAttributes executionAttributes) {
-        SdkResponse response = context.response();
+    SdkResponse modifyResponse(SdkResponse response, @Nullable SdkRequest request) {
         if (response instanceof ReceiveMessageResponse receiveMessageResponse) {
-            return decodeReceiveMessageResponse(receiveMessageResponse);
+            return decodeReceiveMessageResponse(receiveMessageResponse, checksumVerificationPolicyFor(request));
+        }
+        if (serviceChecksumValidation) {
+            if (response instanceof SendMessageResponse sendMessageResponse
+                    && request instanceof SendMessageRequest sendMessageRequest) {
+                validateServiceChecksums(sendMessageRequest, sendMessageResponse);
+            }
+            if (response instanceof SendMessageBatchResponse sendMessageBatchResponse
+                    && request instanceof SendMessageBatchRequest sendMessageBatchRequest) {
+                validateServiceChecksums(sendMessageBatchRequest, sendMessageBatchResponse);
+            }
         }
         return response;
     }
 
-    @SuppressWarnings("DuplicatedCode") // known but sadly SendMessageRequest and SendMessageBatchRequestEntry are not polymorphic
+    /**
+     * Copies the map, so later changes to the caller's map do not diverge from the resolved per-queue cache.
+     */
+    public SqsCodecInterceptor withQueueCodecInterceptors(Map<String, SqsCodecInterceptor> queueCodecInterceptors) {
+        return withQueueCodecs(Map.copyOf(queueCodecInterceptors));
+    }
+
+    public SqsCodecInterceptor withQueueChecksumVerificationPolicies(Map<String, ChecksumVerificationPolicy> queueChecksumVerificationPolicies) {
+        return withQueueChecksumPolicies(Map.copyOf(queueChecksumVerificationPolicies));
+    }
+
+    /**
+     * Encodes a message once, for example to publish the same event to several queues; requests built with
+     * {@link PreEncodedMessage#applyTo(SendMessageRequest.Builder)} are sent as-is by any interceptor, body-header
+     * messages included.
+     */
+    public PreEncodedMessage preEncode(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        if (isEncodedUpstream(messageBody, messageAttributes)) {
+            validateUpstreamEncoding(messageBody, messageAttributes);
+            return new PreEncodedMessage(messageBody, messageAttributes);
+        }
+        OutboundPlan.EncodedMessage encoded = encode(messageBody, messageAttributes);
+        return new PreEncodedMessage(encoded.body(), encoded.attributes());
+    }
+
+    /**
+     * Packs several small logical messages into one SQS message: the records are framed (see {@link MessageEnvelope})
+     * and compressed together, and {@code f=envelope} is recorded in {@code x-codec-conf}. The attributes apply to the
+     * envelope as a whole. Consumers expand it with {@link MessageEnvelope#records(Message)} after decoding.
+     */
+    public PreEncodedMessage preEncodeEnvelope(List<String> records, Map<String, MessageAttributeValue> messageAttributes) {
+        String body = MessageEnvelope.frame(records);
+        OutboundPlan.EncodedMessage encoded = getEnvelopeOutboundPlan()
+                .planFor(body)
+                .encode(body, messageAttributes);
+        return new PreEncodedMessage(encoded.body(), encoded.attributes());
+    }
+
+    // read from the request rather than ExecutionAttributes, so SqsCodecAsyncClient honors it too
+    private static boolean isPreEncoded(SqsRequest request) {
+        return request.overrideConfiguration()
+                .map(configuration -> configuration.executionAttributes().getAttribute(PRE_ENCODED))
+                .orElse(false);
+    }
+
     private SendMessageRequest encodeSendMessage(SendMessageRequest request) {
-        if (CodecConfigurationAttributeHandler.hasCodecAttributes(request.messageAttributes())) {
+        if (isEncodedUpstream(request.messageBody(), request.messageAttributes())) {
             // Already encoded upstream; avoid double-encoding or overwriting attributes (if valid)
-            CodecConfigurationAttributeHandler.fromAttributes(request.messageAttributes());
+            validateUpstreamEncoding(request.messageBody(), request.messageAttributes());
             return request;
         }
 
-        Codec codec = outboundCodec();
-        byte[] payloadBytes = request.messageBody().getBytes(StandardCharsets.UTF_8);
-        CodecConfiguration configuration = configuration();
-
-        Map<String, MessageAttributeValue> attributes = new HashMap<>(request.messageAttributes());
-        CodecConfigurationAttributeHandler.forOutbound(configuration)
-                .applyTo(attributes);
-        PayloadRawLengthAttributeHandler.forOutbound(payloadBytes.length)
-                .applyTo(attributes);
-        PayloadChecksumAttributeHandler.forOutbound(configuration.checksumAlgorithm(), payloadBytes)
-                .applyTo(attributes);
-        String encodedBody = new String(codec.encode(payloadBytes), StandardCharsets.UTF_8);
+        OutboundPlan.EncodedMessage encoded = encode(request.messageBody(), request.messageAttributes());
 
         return request.toBuilder()
-                .messageBody(encodedBody)
-                .messageAttributes(attributes)
+                .messageBody(encoded.body())
+                .messageAttributes(encoded.attributes())
                 .build();
     }
 
     private SendMessageBatchRequest encodeSendMessageBatch(SendMessageBatchRequest request) {
-        List<SendMessageBatchRequestEntry> encodedEntries = request.entries()
-                .stream()
-                .map(this::encodeSendMessageEntry)
-                .toList();
+        List<SendMessageBatchRequestEntry> entries = request.entries();
+        List<SendMessageBatchRequestEntry> encodedEntries;
+        if (encodingExecutor != null && encodesInParallel(entries)) {
+            encodedEntries = ParallelMapper.map(entries, this::encodeSendMessageEntry, encodingExecutor);
+        } else {
+            encodedEntries = entries.stream()
+                    .map(this::encodeSendMessageEntry)
+                    .toList();
+        }
 
         return request.toBuilder()
                 .entries(encodedEntries)
                 .build();
     }
 
-    @SuppressWarnings("DuplicatedCode") // known but sadly SendMessageRequest and SendMessageBatchRequestEntry are not polymorphic
+    private boolean encodesInParallel(List<SendMessageBatchRequestEntry> entries) {
+        if (entries.size() < 2) {
+            return false;
+        }
+        long totalLength = 0;
+        for (SendMessageBatchRequestEntry entry : entries) {
+            totalLength += entry.messageBody().length();
+        }
+        return totalLength >= parallelEncodingThreshold;
+    }
+
     private SendMessageBatchRequestEntry encodeSendMessageEntry(SendMessageBatchRequestEntry entry) {
-        if (CodecConfigurationAttributeHandler.hasCodecAttributes(entry.messageAttributes())) {
+        if (isEncodedUpstream(entry.messageBody(), entry.messageAttributes())) {
             // Already encoded upstream; avoid double-encoding or overwriting attributes (if valid)
-            CodecConfigurationAttributeHandler.fromAttributes(entry.messageAttributes());
+            validateUpstreamEncoding(entry.messageBody(), entry.messageAttributes());
             return entry;
         }
 
-        Codec codec = outboundCodec();
-        byte[] payloadBytes = entry.messageBody().getBytes(StandardCharsets.UTF_8);
-        CodecConfiguration configuration = configuration();
-
-        Map<String, MessageAttributeValue> attributes = new HashMap<>(entry.messageAttributes());
-        CodecConfigurationAttributeHandler.forOutbound(configuration)
-                .applyTo(attributes);
-        PayloadRawLengthAttributeHandler.forOutbound(payloadBytes.length)
-                .applyTo(attributes);
-        PayloadChecksumAttributeHandler.forOutbound(configuration.checksumAlgorithm(), payloadBytes)
-                .applyTo(attributes);
-        String encodedBody = new String(codec.encode(payloadBytes), StandardCharsets.UTF_8);
+        OutboundPlan.EncodedMessage encoded = encode(entry.messageBody(), entry.messageAttributes());
 
         return entry.toBuilder()
-                .messageBody(encodedBody)
-                .messageAttributes(attributes)
+                .messageBody(encoded.body())
+                .messageAttributes(encoded.attributes())
                 .build();
     }
 
+    private boolean isEncodedUpstream(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        return CodecConfigurationAttributeHandler.hasCodecAttributes(messageAttributes)
+                || (bodyHeader && CodecBodyHeader.hasHeader(messageBody));
+    }
+
+    private OutboundPlan.EncodedMessage encode(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        if (encodedMessageCacheSize > 0) {
+            return getEncodedMessageCache().encode(messageBody, messageAttributes, this::encodeUncached);
+        }
+        return encodeUncached(messageBody, messageAttributes);
+    }
+
+    private OutboundPlan.EncodedMessage encodeUncached(String messageBody, Map<String, MessageAttributeValue> messageAttributes) {
+        return getOutboundPlan()
+                .planFor(messageBody)
+                .encode(messageBody, messageAttributes);
+    }
+
     private ReceiveMessageRequest ensureCodecAttributesRequested(ReceiveMessageRequest request) {
-        Set<String> attributeNames = new HashSet<>(request.messageAttributeNames());
-        if (attributeNames.contains("All") || attributeNames.containsAll(CODEC_ATTRIBUTE_NAMES)) {
+        List<String> attributeNames = request.messageAttributeNames();
+        if (ReceiveAttributeNames.coversCodecAttributes(attributeNames)) {
             return request;
         }
 
-        Set<String> neededAttributeNames = Stream.concat(attributeNames.stream(), CODEC_ATTRIBUTE_NAMES.stream())
-                .collect(Collectors.toUnmodifiableSet());
         return request.toBuilder()
-                .messageAttributeNames(neededAttributeNames)
+                .messageAttributeNames(ReceiveAttributeNames.withCodecAttributes(attributeNames))
                 .build();
     }
 
-    private ReceiveMessageResponse decodeReceiveMessageResponse(ReceiveMessageResponse response) {
+    private ReceiveMessageResponse decodeReceiveMessageResponse(
+            ReceiveMessageResponse response,
+            ChecksumVerificationPolicy verificationPolicy) {
         List<Message> messages = response.messages();
         if (messages.isEmpty()) {
             return response;
         }
 
-        List<Message> decoded = messages.stream()
-                .map(this::decodeMessageIfNeeded)
-                .toList();
+        List<Message> decoded;
+        if (decodingExecutor != null && messages.size() > 1) {
+            decoded = ParallelMapper.map(
+                    messages,
+                    message -> decodeMessage(message, verificationPolicy),
+                    decodingExecutor,
+                    SqsCodecInterceptor::encodedSize,
+                    parallelDecodingThreshold);
+        } else {
+            decoded = messages.stream()
+                    .map(message -> decodeMessage(message, verificationPolicy))
+                    .toList();
+        }
 
         return response.toBuilder()
                 .messages(decoded)
                 .build();
     }
 
-    private Message decodeMessageIfNeeded(Message message) {
-        Map<String, MessageAttributeValue> attributes = message.messageAttributes();
-        if (!CodecConfigurationAttributeHandler.hasAnyAttributes(attributes)) {
-            // allowing messages queued before this codec was added
-            return message;
+    private Message decodeMessage(Message message, ChecksumVerificationPolicy verificationPolicy) {
+        if (decodeFailureHandler == null) {
+            return decodeMessageIfNeeded(message, verificationPolicy);
+        }
+        try {
+            return decodeMessageIfNeeded(message, verificationPolicy);
+        } catch (RuntimeException e) {
+            decodeFailureHandler.onFailure(message, e);
+            Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+            attributes.put(CodecAttributes.ERROR, MessageAttributeUtils.stringAttribute(decodeFailure(e)));
+            return message.toBuilder()
+                    .messageAttributes(attributes)
+                    .build();
         }
+    }
+
+    private static String decodeFailure(RuntimeException exception) {
+        String message = exception.getMessage();
+        return message != null ? exception.getClass().getSimpleName() + ": " + message : exception.getClass().getSimpleName();
+    }
 
-        CodecConfiguration configuration = CodecConfigurationAttributeHandler.fromAttributes(attributes)
-                .configuration();
+    private Message decodeMessageIfNeeded(Message message, ChecksumVerificationPolicy verificationPolicy) {
+        Map<String, MessageAttributeValue> attributes = message.messageAttributes();
+        if (serviceChecksumValidation) {
+            SqsMessageMd5.validateMessageAttributes(message.md5OfMessageAttributes(), attributes);
+        }
+        CodecConfiguration configuration;
+        String checksumValue;
+        int headerLength = 0;
+        long rawLength = -1;
+        if (CompactCodecAttributeHandler.hasAttributes(attributes)) {
+            CompactCodecAttributeHandler compactHandler = CompactCodecAttributeHandler.fromAttributes(attributes);
+            configuration = compactHandler.configuration();
+            checksumValue = compactHandler.checksumValue();
+            rawLength = compactHandler.rawLength();
+        } else if (CodecConfigurationAttributeHandler.hasAnyAttributes(attributes)) {
+            configuration = CodecConfigurationAttributeHandler.fromAttributes(attributes)
+                    .configuration();
+            checksumValue = MessageAttributeUtils.attributeValue(attributes, CodecAttributes.CHECKSUM);
+            rawLength = PayloadRawLengthAttributeHandler.rawLength(attributes);
+        } else {
+            // only receivers that opted into the body header trust a ~sqsc prefix; for others it is plain user content
+            CodecBodyHeader header = bodyHeader ? CodecBodyHeader.read(message.body()) : null;
+            if (header == null) {
+                // allowing messages queued before this codec was added
+                if (serviceChecksumValidation) {
+                    SqsMessageMd5.validateBody(message.md5OfBody(), SqsMessageMd5.bodyDigest(message.body().getBytes(StandardCharsets.UTF_8)));
+                }
+                return message;
+            }
+            configuration = header.configuration();
+            checksumValue = header.checksumValue();
+            headerLength = header.length();
+        }
         boolean shouldDecode = configuration.compressionAlgorithm() != CompressionAlgorithm.NONE
                 || configuration.encodingAlgorithm() != EncodingAlgorithm.NONE;
-        String checksumValue = MessageAttributeUtils.attributeValue(attributes, CodecAttributes.CHECKSUM);
-        boolean shouldValidateChecksum = PayloadChecksumAttributeHandler.needsValidation(checksumValue, configuration.checksumAlgorithm());
-        if (!shouldDecode && !shouldValidateChecksum) {
+        boolean carried = configuration.payloadCarrier() == PayloadCarrier.ATTRIBUTE;
+        boolean rewritesBody = shouldDecode || headerLength > 0 || carried;
+        boolean restoresAttributes = !configuration.compressedAttributes().isEmpty();
+        boolean shouldValidateChecksum = PayloadChecksumAttributeHandler.needsValidation(checksumValue, configuration.checksumAlgorithm())
+                && verificationPolicy.shouldVerify();
+        if (!rewritesBody && !restoresAttributes && !shouldValidateChecksum && !serviceChecksumValidation) {
             return message;
         }
 
-        byte[] payloadBytes;
-        if (shouldDecode) {
-            Codec codec = new Codec(configuration.compressionAlgorithm(), configuration.encodingAlgorithm());
-            payloadBytes = codec.decode(message.body().getBytes(StandardCharsets.UTF_8));
+        DecodeMemoryBudget budget = shouldDecode ? decodeMemoryBudget : null;
+        long reserved = budget != null ? budget.acquire(decodeFootprint(message, rawLength)) : 0;
+        try {
+            byte[] bodyBytes = message.body().getBytes(StandardCharsets.UTF_8);
+            byte[] bodyMd5 = null;
+            if (serviceChecksumValidation) {
+                bodyMd5 = SqsMessageMd5.bodyDigest(bodyBytes);
+                SqsMessageMd5.validateBody(message.md5OfBody(), bodyMd5);
+            }
+            byte[] encodedBytes;
+            byte[] encodedMd5 = null;
+            if (carried) {
+                encodedBytes = carriedPayload(attributes);
+            } else if (headerLength > 0) {
+                // the header is ASCII, so its char length is its byte length
+                encodedBytes = Arrays.copyOfRange(bodyBytes, headerLength, bodyBytes.length);
+            } else {
+                encodedBytes = bodyBytes;
+                encodedMd5 = bodyMd5;
+            }
+            boolean encodedScope = configuration.checksumScope() == ChecksumScope.ENCODED;
+            if (shouldValidateChecksum && encodedScope) {
+                // rejecting corrupt bodies before any base64/decompression work
+                validateChecksum(verificationPolicy, configuration, checksumValue, encodedBytes, encodedMd5);
+            }
+            byte[] payloadBytes;
+            if (shouldDecode) {
+                Codec codec = Codec.forConfiguration(configuration);
+                payloadBytes = codec.decode(encodedBytes);
+            } else {
+                payloadBytes = encodedBytes;
+            }
+            if (shouldValidateChecksum && !encodedScope) {
+                // when nothing was decoded the payload is the body, so its MD5 can be shared
+                validateChecksum(verificationPolicy, configuration, checksumValue, payloadBytes, shouldDecode ? null : encodedMd5);
+            }
+            if (!rewritesBody && !restoresAttributes) {
+                return message;
+            }
+
+            Message.Builder decoded = message.toBuilder();
+            if (rewritesBody) {
+                decoded.body(new String(payloadBytes, StandardCharsets.UTF_8));
+            }
+            if (restoresAttributes || carried) {
+                Map<String, MessageAttributeValue> restored = restoresAttributes
+                        ? CompressedAttributesHandler.restore(attributes, configuration)
+                        : attributes;
+                decoded.messageAttributes(carried ? withoutCarriedPayload(restored) : restored);
+            }
+            return decoded.build();
+        } finally {
+            if (budget != null) {
+                budget.release(reserved);
+            }
+        }
+    }
+
+    // encoded plus decoded bytes held while decoding; without a recorded raw length the payload is assumed to expand 4x
+    private static long decodeFootprint(Message message, long rawLength) {
+        long encodedSize = encodedSize(message);
+        long decodedSize = rawLength >= 0 ? rawLength : encodedSize * UNKNOWN_RAW_LENGTH_FACTOR;
+        // the raw length comes from the producer; saturating keeps a huge one from wrapping into a negative reservation
+        return decodedSize > Long.MAX_VALUE - encodedSize ? Long.MAX_VALUE : encodedSize + decodedSize;
+    }
+
+    // the body alone is only a placeholder when the payload is carried in x-codec-payload
+    private static int encodedSize(Message message) {
+        int encodedSize = message.body().length();
+        MessageAttributeValue payload = message.messageAttributes().get(CodecAttributes.PAYLOAD);
+        if (payload != null && payload.binaryValue() != null) {
+            encodedSize += payload.binaryValue().asByteArrayUnsafe().length;
+        }
+        return encodedSize;
+    }
+
+    private static byte[] carriedPayload(Map<String, MessageAttributeValue> attributes) {
+        MessageAttributeValue payload = attributes.get(CodecAttributes.PAYLOAD);
+        if (payload == null || payload.binaryValue() == null) {
+            throw UnsupportedCodecConfigurationException.missingPayload(CodecAttributes.PAYLOAD);
+        }
+        return payload.binaryValue().asByteArrayUnsafe();
+    }
+
+    private static Map<String, MessageAttributeValue> withoutCarriedPayload(Map<String, MessageAttributeValue> attributes) {
+        Map<String, MessageAttributeValue> userAttributes = new HashMap<>(attributes);
+        userAttributes.remove(CodecAttributes.PAYLOAD);
+        return userAttributes;
+    }
+
+    private static void validateUpstreamEncoding(String messageBody, Map<String, MessageAttributeValue> attributes) {
+        if (CompactCodecAttributeHandler.hasAttributes(attributes)) {
+            CompactCodecAttributeHandler.fromAttributes(attributes);
+        } else if (CodecConfigurationAttributeHandler.hasCodecAttributes(attributes)) {
+            CodecConfigurationAttributeHandler.fromAttributes(attributes);
         } else {
-            payloadBytes = message.body().getBytes(StandardCharsets.UTF_8);
+            CodecBodyHeader.read(messageBody);
         }
-        PayloadChecksumAttributeHandler.validate(configuration.checksumAlgorithm(), checksumValue, payloadBytes);
-        if (!shouldDecode) {
-            return message;
+    }
+
+    private static void validateServiceChecksums(SendMessageRequest request, SendMessageResponse response) {
+        SqsMessageMd5.validateBody(
+                response.md5OfMessageBody(),
+                SqsMessageMd5.bodyDigest(request.messageBody().getBytes(StandardCharsets.UTF_8)));
+        SqsMessageMd5.validateMessageAttributes(response.md5OfMessageAttributes(), request.messageAttributes());
+    }
+
+    private static void validateServiceChecksums(SendMessageBatchRequest request, SendMessageBatchResponse response) {
+        Map<String, SendMessageBatchRequestEntry> entriesById = request.entries()
+                .stream()
+                .collect(Collectors.toMap(SendMessageBatchRequestEntry::id, Function.identity(), (first, second) -> first));
+        for (SendMessageBatchResultEntry result : response.successful()) {
+            SendMessageBatchRequestEntry entry = entriesById.get(result.id());
+            if (entry == null) {
+                continue;
+            }
+            SqsMessageMd5.validateBody(
+                    result.md5OfMessageBody(),
+                    SqsMessageMd5.bodyDigest(entry.messageBody().getBytes(StandardCharsets.UTF_8)));
+            SqsMessageMd5.validateMessageAttributes(result.md5OfMessageAttributes(), entry.messageAttributes());
         }
+    }
 
-        return message.toBuilder()
-                .body(new String(payloadBytes, StandardCharsets.UTF_8))
-                .build();
+    private static void validateChecksum(
+            ChecksumVerificationPolicy verificationPolicy,
+            CodecConfiguration configuration,
+            @Nullable String checksumValue,
+            byte[] checksummedBytes,
+            byte @Nullable [] checksummedBytesMd5) {
+        try {
+            if (checksummedBytesMd5 != null && configuration.checksumAlgorithm() == ChecksumAlgorithm.MD5) {
+                // already hashed for the SQS MD5OfBody check; single pass over the body
+                PayloadChecksumAttributeHandler.validateDigest(configuration.checksumAlgorithm(), checksumValue, checksummedBytesMd5);
+            } else {
+                PayloadChecksumAttributeHandler.validate(configuration.checksumAlgorithm(), checksumValue, checksummedBytes);
+            }
+        } catch (ChecksumValidationException e) {
+            verificationPolicy.recordMismatch();
+            throw e;
+        }
     }
 
-    private Codec outboundCodec() {
-        return new Codec(compressionAlgorithm, encodingAlgorithm);
+    private SqsCodecInterceptor codecFor(@Nullable String queueUrl) {
+        if (queueCodecs.isEmpty() || queueUrl == null) {
+            return this;
+        }
+        LruCache<String, SqsCodecInterceptor> resolvedQueueCodecs = getResolvedQueueCodecs();
+        SqsCodecInterceptor resolved = resolvedQueueCodecs.get(queueUrl);
+        if (resolved == null) {
+            resolved = resolveCodec(queueUrl);
+            resolvedQueueCodecs.put(queueUrl, resolved);
+        }
+        return resolved;
+    }
+
+    private SqsCodecInterceptor resolveCodec(String queueUrl) {
+        SqsCodecInterceptor interceptor = queueCodecs.get(queueUrl);
+        if (interceptor != null) {
+            return interceptor;
+        }
+        String queueName = queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+        interceptor = queueCodecs.get(queueName);
+        if (interceptor != null) {
+            return interceptor;
+        }
+        // the longest matching prefix wins
+        int matchedLength = -1;
+        for (Map.Entry<String, SqsCodecInterceptor> entry : queueCodecs.entrySet()) {
+            String key = entry.getKey();
+            if (key.endsWith(QUEUE_NAME_WILDCARD)
+                    && key.length() > matchedLength
+                    && queueName.startsWith(key.substring(0, key.length() - QUEUE_NAME_WILDCARD.length()))) {
+                interceptor = entry.getValue();
+                matchedLength = key.length();
+            }
+        }
+        return interceptor != null ? interceptor : this;
+    }
+
+    private ChecksumVerificationPolicy checksumVerificationPolicyFor(@Nullable SdkRequest request) {
+        if (queueChecksumPolicies.isEmpty()
+                || !(request instanceof ReceiveMessageRequest receiveMessageRequest)
+                || receiveMessageRequest.queueUrl() == null) {
+            return checksumVerificationPolicy;
+        }
+        String queueUrl = receiveMessageRequest.queueUrl();
+        ChecksumVerificationPolicy policy = queueChecksumPolicies.get(queueUrl);
+        if (policy == null) {
+            policy = queueChecksumPolicies.get(StringUtils.substringAfterLast(queueUrl, '/'));
+        }
+        return policy != null ? policy : checksumVerificationPolicy;
     }
 
     private CodecConfiguration configuration() {
+        return new CodecConfiguration(
+                compactAttributes ? CodecAttributes.COMPACT_VERSION_VALUE : CodecAttributes.VERSION_VALUE,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                List.of(),
+                binaryPayloadCarrier ? PayloadCarrier.ATTRIBUTE : PayloadCarrier.BODY);
+    }
+
+    private CodecConfiguration envelopeConfiguration() {
         return new CodecConfiguration(
                 CodecAttributes.VERSION_VALUE,
                 compressionAlgorithm,
                 encodingAlgorithm,
-                checksumAlgorithm);
+                checksumAlgorithm,
+                checksumScope,
+                List.of(),
+                binaryPayloadCarrier ? PayloadCarrier.ATTRIBUTE : PayloadCarrier.BODY,
+                PayloadFormat.ENVELOPE);
     }
 
     public static SqsCodecInterceptor defaultInterceptor() {
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+/**
+ * Checks message bodies against the character set accepted by SQS:
+ * {@code #x9 | #xA | #xD | #x20-#xD7FF | #xE000-#xFFFD | #x10000-#x10FFFF}.
+ */
+final class SqsMessageCharacters {
+
+    private SqsMessageCharacters() {
+    }
+
+    static boolean isValid(String body) {
+        int length = body.length();
+        for (int i = 0; i < length; i++) {
+            char c = body.charAt(i);
+            // hot path: printable BMP characters below the surrogate range
+            if (c >= 0x20 && c < Character.MIN_SURROGATE) {
+                continue;
+            }
+            if (c == '\t' || c == '\n' || c == '\r') {
+                continue;
+            }
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 < length && Character.isLowSurrogate(body.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
+                return false;
+            }
+            if (c < 0x20 || Character.isLowSurrogate(c) || c >= 0xFFFE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
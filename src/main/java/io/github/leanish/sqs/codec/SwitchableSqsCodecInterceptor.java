@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Execution interceptor delegating to a {@link SqsCodecInterceptor} that can be replaced at runtime, so codec
+ * changes roll out without rebuilding the SDK client. Each call reads the current interceptor once; its outbound
+ * plan is computed on first use and then shared, so a swap costs one plan and messages allocate nothing extra.
+ * A response is handled by the interceptor current when it arrives; decoding follows the message's codec attributes
+ * either way, so swapping mid-flight is safe.
+ */
+public final class SwitchableSqsCodecInterceptor implements ExecutionInterceptor {
+
+    private final AtomicReference<SqsCodecInterceptor> current;
+
+    private SwitchableSqsCodecInterceptor(SqsCodecInterceptor initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public static SwitchableSqsCodecInterceptor of(SqsCodecInterceptor initial) {
+        return new SwitchableSqsCodecInterceptor(initial);
+    }
+
+    public SqsCodecInterceptor current() {
+        return current.get();
+    }
+
+    public void set(SqsCodecInterceptor interceptor) {
+        current.set(interceptor);
+    }
+
+    /**
+     * Atomically derives the next interceptor from the current one, for example
+     * {@code update(interceptor -> interceptor.withCompressionAlgorithm(CompressionAlgorithm.ZSTD))}.
+     */
+    public SqsCodecInterceptor update(UnaryOperator<SqsCodecInterceptor> updater) {
+        return current.updateAndGet(updater);
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        return current.get().modifyRequest(context, executionAttributes);
+    }
+
+    @Override
+    public SdkResponse modifyResponse(Context.ModifyResponse context, ExecutionAttributes executionAttributes) {
+        return current.get().modifyResponse(context, executionAttributes);
+    }
+}
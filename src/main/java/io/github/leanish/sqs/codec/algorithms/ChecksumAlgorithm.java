@@ -7,27 +7,37 @@ package io.github.leanish.sqs.codec.algorithms;
 
 import org.apache.commons.lang3.StringUtils;
 
+import io.github.leanish.sqs.codec.algorithms.checksum.Crc32cDigestor;
 import io.github.leanish.sqs.codec.algorithms.checksum.Digestor;
 import io.github.leanish.sqs.codec.algorithms.checksum.Md5Digestor;
 import io.github.leanish.sqs.codec.algorithms.checksum.Sha256Digestor;
 import io.github.leanish.sqs.codec.algorithms.checksum.UndigestedDigestor;
+import io.github.leanish.sqs.codec.algorithms.checksum.Xxh64Digestor;
 
 /**
  * Supported checksum algorithms and their digestor implementations.
  */
 public enum ChecksumAlgorithm {
     /** MD5 checksum for lightweight integrity checks. */
-    MD5("md5", new Md5Digestor()),
+    MD5("md5", 1, new Md5Digestor()),
     /** SHA-256 checksum for stronger integrity guarantees. */
-    SHA256("sha256", new Sha256Digestor()),
+    SHA256("sha256", 2, new Sha256Digestor()),
+    /** CRC32C checksum for cheap corruption detection on high-volume queues. */
+    CRC32C("crc32c", 3, new Crc32cDigestor()),
+    /** xxHash64 checksum for fast corruption detection with a wider hash than CRC32C. */
+    XXH64("xxh64", 4, new Xxh64Digestor()),
     /** No checksum; integrity attributes are omitted. */
-    NONE("none", new UndigestedDigestor());
+    NONE("none", 0, new UndigestedDigestor());
+
+    private static final ChecksumAlgorithm[] VALUES = values();
 
     private final String id;
+    private final byte code;
     private final Digestor implementation;
 
-    ChecksumAlgorithm(String id, Digestor implementation) {
+    ChecksumAlgorithm(String id, int code, Digestor implementation) {
         this.id = id;
+        this.code = (byte) code;
         this.implementation = implementation;
     }
 
@@ -35,6 +45,10 @@ public enum ChecksumAlgorithm {
         return id;
     }
 
+    public byte code() {
+        return code;
+    }
+
     public Digestor implementation() {
         return implementation;
     }
@@ -43,11 +57,33 @@ public enum ChecksumAlgorithm {
         if (StringUtils.isBlank(value)) {
             throw UnsupportedAlgorithmException.checksum(value);
         }
-        for (ChecksumAlgorithm algorithm : values()) {
+        for (ChecksumAlgorithm algorithm : VALUES) {
             if (algorithm.id.equalsIgnoreCase(value)) {
                 return algorithm;
             }
         }
         throw UnsupportedAlgorithmException.checksum(value);
     }
+
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static ChecksumAlgorithm fromId(String source, int start, int end) {
+        int length = end - start;
+        for (ChecksumAlgorithm algorithm : VALUES) {
+            if (algorithm.id.length() == length && algorithm.id.regionMatches(true, 0, source, start, length)) {
+                return algorithm;
+            }
+        }
+        throw UnsupportedAlgorithmException.checksum(source.substring(start, end));
+    }
+
+    public static ChecksumAlgorithm fromCode(byte code) {
+        for (ChecksumAlgorithm algorithm : VALUES) {
+            if (algorithm.code == code) {
+                return algorithm;
+            }
+        }
+        throw UnsupportedAlgorithmException.checksum(Byte.toString(code));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Which bytes the payload checksum is computed over.
+ */
+public enum ChecksumScope {
+    /** Checksum over the raw payload; verified after decoding. */
+    RAW("raw", 0),
+    /** Checksum over the encoded body; verified before any decoding work. */
+    ENCODED("encoded", 1);
+
+    private static final ChecksumScope[] VALUES = values();
+
+    private final String id;
+    private final byte code;
+
+    ChecksumScope(String id, int code) {
+        this.id = id;
+        this.code = (byte) code;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static ChecksumScope fromId(String value) {
+        if (StringUtils.isBlank(value)) {
+            throw UnsupportedAlgorithmException.checksumScope(value);
+        }
+        for (ChecksumScope scope : VALUES) {
+            if (scope.id.equalsIgnoreCase(value)) {
+                return scope;
+            }
+        }
+        throw UnsupportedAlgorithmException.checksumScope(value);
+    }
+
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static ChecksumScope fromId(String source, int start, int end) {
+        int length = end - start;
+        for (ChecksumScope scope : VALUES) {
+            if (scope.id.length() == length && scope.id.regionMatches(true, 0, source, start, length)) {
+                return scope;
+            }
+        }
+        throw UnsupportedAlgorithmException.checksumScope(source.substring(start, end));
+    }
+
+    public static ChecksumScope fromCode(byte code) {
+        for (ChecksumScope scope : VALUES) {
+            if (scope.code == code) {
+                return scope;
+            }
+        }
+        throw UnsupportedAlgorithmException.checksumScope(Byte.toString(code));
+    }
+}
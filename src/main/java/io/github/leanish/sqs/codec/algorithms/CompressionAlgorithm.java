@@ -18,19 +18,23 @@ import io.github.leanish.sqs.codec.algorithms.compression.ZstdCompressor;
  */
 public enum CompressionAlgorithm {
     /** Zstandard compression for high ratio with good performance. */
-    ZSTD("zstd", new ZstdCompressor()),
+    ZSTD("zstd", 1, new ZstdCompressor()),
     /** Snappy compression for low-latency payloads. */
-    SNAPPY("snappy", new SnappyCompressor()),
+    SNAPPY("snappy", 2, new SnappyCompressor()),
     /** Gzip compression for interoperability with common tooling. */
-    GZIP("gzip", new GzipCompressor()),
+    GZIP("gzip", 3, new GzipCompressor()),
     /** No compression; payload bytes are left as-is. */
-    NONE("none", new NoOpCompressor());
+    NONE("none", 0, new NoOpCompressor());
+
+    private static final CompressionAlgorithm[] VALUES = values();
 
     private final String id;
+    private final byte code;
     private final Compressor implementation;
 
-    CompressionAlgorithm(String id, Compressor implementation) {
+    CompressionAlgorithm(String id, int code, Compressor implementation) {
         this.id = id;
+        this.code = (byte) code;
         this.implementation = implementation;
     }
 
@@ -38,6 +42,10 @@ public enum CompressionAlgorithm {
         return id;
     }
 
+    public byte code() {
+        return code;
+    }
+
     public Compressor implementation() {
         return implementation;
     }
@@ -46,11 +54,33 @@ public enum CompressionAlgorithm {
         if (StringUtils.isBlank(value)) {
             throw UnsupportedAlgorithmException.compression(value);
         }
-        for (CompressionAlgorithm compression : values()) {
+        for (CompressionAlgorithm compression : VALUES) {
             if (compression.id.equalsIgnoreCase(value)) {
                 return compression;
             }
         }
         throw UnsupportedAlgorithmException.compression(value);
     }
+
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static CompressionAlgorithm fromId(String source, int start, int end) {
+        int length = end - start;
+        for (CompressionAlgorithm compression : VALUES) {
+            if (compression.id.length() == length && compression.id.regionMatches(true, 0, source, start, length)) {
+                return compression;
+            }
+        }
+        throw UnsupportedAlgorithmException.compression(source.substring(start, end));
+    }
+
+    public static CompressionAlgorithm fromCode(byte code) {
+        for (CompressionAlgorithm compression : VALUES) {
+            if (compression.code == code) {
+                return compression;
+            }
+        }
+        throw UnsupportedAlgorithmException.compression(Byte.toString(code));
+    }
 }
@@ -17,17 +17,21 @@ import io.github.leanish.sqs.codec.algorithms.encoding.StandardBase64Encoder;
  */
 public enum EncodingAlgorithm {
     /** URL-safe Base64 for attribute values that might travel through URL contexts. */
-    BASE64("base64", new Base64Encoder()),
+    BASE64("base64", 1, new Base64Encoder()),
     /** Standard Base64 for systems that require "+" "/" and "=" padding. */
-    BASE64_STD("base64-std", new StandardBase64Encoder()),
+    BASE64_STD("base64-std", 2, new StandardBase64Encoder()),
     /** No encoding; payload is treated as UTF-8 bytes. */
-    NONE("none", new NoOpEncoder());
+    NONE("none", 0, new NoOpEncoder());
+
+    private static final EncodingAlgorithm[] VALUES = values();
 
     private final String id;
+    private final byte code;
     private final Encoder implementation;
 
-    EncodingAlgorithm(String id, Encoder implementation) {
+    EncodingAlgorithm(String id, int code, Encoder implementation) {
         this.id = id;
+        this.code = (byte) code;
         this.implementation = implementation;
     }
 
@@ -35,6 +39,10 @@ public enum EncodingAlgorithm {
         return id;
     }
 
+    public byte code() {
+        return code;
+    }
+
     public Encoder implementation() {
         return implementation;
     }
@@ -43,7 +51,7 @@ public enum EncodingAlgorithm {
         if (StringUtils.isBlank(value)) {
             throw UnsupportedAlgorithmException.encoding(value);
         }
-        for (EncodingAlgorithm encoding : values()) {
+        for (EncodingAlgorithm encoding : VALUES) {
             if (encoding.id.equalsIgnoreCase(value)) {
                 return encoding;
             }
@@ -51,6 +59,19 @@ public enum EncodingAlgorithm {
         throw UnsupportedAlgorithmException.encoding(value);
     }
 
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static EncodingAlgorithm fromId(String source, int start, int end) {
+        int length = end - start;
+        for (EncodingAlgorithm encoding : VALUES) {
+            if (encoding.id.length() == length && encoding.id.regionMatches(true, 0, source, start, length)) {
+                return encoding;
+            }
+        }
+        throw UnsupportedAlgorithmException.encoding(source.substring(start, end));
+    }
+
     public static EncodingAlgorithm effectiveFor(
             CompressionAlgorithm compressionAlgorithm,
             EncodingAlgorithm encodingAlgorithm) {
@@ -60,4 +81,13 @@ public enum EncodingAlgorithm {
         }
         return encodingAlgorithm;
     }
+
+    public static EncodingAlgorithm fromCode(byte code) {
+        for (EncodingAlgorithm encoding : VALUES) {
+            if (encoding.code == code) {
+                return encoding;
+            }
+        }
+        throw UnsupportedAlgorithmException.encoding(Byte.toString(code));
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Where the encoded payload travels.
+ */
+public enum PayloadCarrier {
+    /** In the message body, as text. */
+    BODY("body"),
+    /** Unencoded in the Binary {@code x-codec-payload} attribute, behind a placeholder body. */
+    ATTRIBUTE("attribute");
+
+    private static final PayloadCarrier[] VALUES = values();
+
+    private final String id;
+
+    PayloadCarrier(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public static PayloadCarrier fromId(String value) {
+        if (StringUtils.isBlank(value)) {
+            throw UnsupportedAlgorithmException.payloadCarrier(value);
+        }
+        for (PayloadCarrier carrier : VALUES) {
+            if (carrier.id.equalsIgnoreCase(value)) {
+                return carrier;
+            }
+        }
+        throw UnsupportedAlgorithmException.payloadCarrier(value);
+    }
+
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static PayloadCarrier fromId(String source, int start, int end) {
+        int length = end - start;
+        for (PayloadCarrier carrier : VALUES) {
+            if (carrier.id.length() == length && carrier.id.regionMatches(true, 0, source, start, length)) {
+                return carrier;
+            }
+        }
+        throw UnsupportedAlgorithmException.payloadCarrier(source.substring(start, end));
+    }
+}
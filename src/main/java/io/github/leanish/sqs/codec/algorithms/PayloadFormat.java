@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * How the decoded payload is laid out.
+ */
+public enum PayloadFormat {
+    /** One logical message. */
+    SINGLE("single"),
+    /** Several logical messages framed by {@code MessageEnvelope}, compressed together. */
+    ENVELOPE("envelope");
+
+    private static final PayloadFormat[] VALUES = values();
+
+    private final String id;
+
+    PayloadFormat(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public static PayloadFormat fromId(String value) {
+        if (StringUtils.isBlank(value)) {
+            throw UnsupportedAlgorithmException.payloadFormat(value);
+        }
+        for (PayloadFormat format : VALUES) {
+            if (format.id.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw UnsupportedAlgorithmException.payloadFormat(value);
+    }
+
+    /**
+     * Region-based variant of {@link #fromId(String)} that resolves {@code source[start, end)} without allocating.
+     */
+    public static PayloadFormat fromId(String source, int start, int end) {
+        int length = end - start;
+        for (PayloadFormat format : VALUES) {
+            if (format.id.length() == length && format.id.regionMatches(true, 0, source, start, length)) {
+                return format;
+            }
+        }
+        throw UnsupportedAlgorithmException.payloadFormat(source.substring(start, end));
+    }
+}
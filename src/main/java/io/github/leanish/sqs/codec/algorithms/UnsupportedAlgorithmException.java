@@ -27,4 +27,16 @@ public class UnsupportedAlgorithmException extends CodecException {
     public static UnsupportedAlgorithmException checksum(String value) {
         return new UnsupportedAlgorithmException("Unsupported checksum algorithm: " + value);
     }
+
+    public static UnsupportedAlgorithmException checksumScope(String value) {
+        return new UnsupportedAlgorithmException("Unsupported checksum scope: " + value);
+    }
+
+    public static UnsupportedAlgorithmException payloadCarrier(String value) {
+        return new UnsupportedAlgorithmException("Unsupported payload carrier: " + value);
+    }
+
+    public static UnsupportedAlgorithmException payloadFormat(String value) {
+        return new UnsupportedAlgorithmException("Unsupported payload format: " + value);
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms.checksum;
+
+import java.util.Base64;
+import java.util.zip.CRC32C;
+
+import com.google.errorprone.annotations.Immutable;
+
+/**
+ * CRC32C digest implementation (hardware-accelerated by the JDK on common platforms).
+ */
+@Immutable
+public class Crc32cDigestor implements Digestor {
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Override
+    public IncrementalDigest newDigest() {
+        return new Crc32cIncrementalDigest(new CRC32C());
+    }
+
+    @Override
+    public String format(byte[] digest) {
+        return BASE64_ENCODER.encodeToString(digest);
+    }
+
+    private record Crc32cIncrementalDigest(CRC32C crc) implements IncrementalDigest {
+
+        @Override
+        public IncrementalDigest update(byte[] input, int offset, int length) {
+            crc.update(input, offset, length);
+            return this;
+        }
+
+        @Override
+        public byte[] digest() {
+            int value = (int) crc.getValue();
+            return new byte[] {
+                    (byte) (value >>> 24),
+                    (byte) (value >>> 16),
+                    (byte) (value >>> 8),
+                    (byte) value
+            };
+        }
+    }
+}
@@ -5,6 +5,9 @@
  */
 package io.github.leanish.sqs.codec.algorithms.checksum;
 
+import java.security.MessageDigest;
+import java.util.Base64;
+
 import com.google.errorprone.annotations.Immutable;
 
 /**
@@ -12,5 +15,45 @@ import com.google.errorprone.annotations.Immutable;
  */
 @Immutable
 public interface Digestor {
-    String checksum(byte[] payload);
+
+    /**
+     * Starts a new incremental digest, e.g. to hash a payload while it streams.
+     */
+    IncrementalDigest newDigest();
+
+    /**
+     * Formats raw digest bytes as the checksum attribute value.
+     */
+    String format(byte[] digest);
+
+    default byte[] digest(byte[] payload) {
+        return newDigest()
+                .update(payload)
+                .digest();
+    }
+
+    default String checksum(byte[] payload) {
+        return format(digest(payload));
+    }
+
+    /**
+     * Checks a payload against a checksum attribute value by comparing raw digest bytes.
+     */
+    default boolean matches(byte[] payload, String checksum) {
+        return matchesDigest(digest(payload), checksum);
+    }
+
+    /**
+     * Checks an already computed digest against a checksum attribute value.
+     */
+    default boolean matchesDigest(byte[] digest, String checksum) {
+        byte[] expected;
+        try {
+            // the URL-safe decoder accepts both padded and unpadded values
+            expected = Base64.getUrlDecoder().decode(checksum);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, digest);
+    }
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms.checksum;
+
+/**
+ * Running digest fed chunk by chunk; single use and not thread-safe.
+ */
+public interface IncrementalDigest {
+
+    IncrementalDigest update(byte[] input, int offset, int length);
+
+    default IncrementalDigest update(byte[] input) {
+        return update(input, 0, input.length);
+    }
+
+    /**
+     * Completes the digest and returns its raw bytes.
+     */
+    byte[] digest();
+}
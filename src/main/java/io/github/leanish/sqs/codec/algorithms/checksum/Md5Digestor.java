@@ -5,32 +5,15 @@
  */
 package io.github.leanish.sqs.codec.algorithms.checksum;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
-
 import com.google.errorprone.annotations.Immutable;
 
 /**
  * MD5 digest implementation.
  */
 @Immutable
-public class Md5Digestor implements Digestor {
-
-    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder();
-
-    @Override
-    public String checksum(byte[] payload) {
-        MessageDigest digest = digest();
-        byte[] hash = digest.digest(payload);
-        return BASE64_ENCODER.encodeToString(hash);
-    }
+public class Md5Digestor extends MessageDigestDigestor {
 
-    private MessageDigest digest() {
-        try {
-            return MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new UnavailableAlgorithmException("MD5 digest is not available", e);
-        }
+    public Md5Digestor() {
+        super("MD5");
     }
 }
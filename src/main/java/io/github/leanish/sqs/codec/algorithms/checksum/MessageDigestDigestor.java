@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms.checksum;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import org.jspecify.annotations.Nullable;
+
+import com.google.errorprone.annotations.Immutable;
+
+/**
+ * Base for {@link MessageDigest}-backed digestors.
+ * The provider lookup happens once; digests are cloned from a prototype and pooled per thread for one-shot use.
+ * A failed lookup does not fail construction (the digestors are created with {@code ChecksumAlgorithm}); its
+ * {@link NoSuchAlgorithmException} is kept and attached as the cause whenever the digest is used.
+ */
+@Immutable
+abstract class MessageDigestDigestor implements Digestor {
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder();
+
+    private final String algorithm;
+    @SuppressWarnings("Immutable") // only ever cloned, never updated
+    private final @Nullable MessageDigest prototype;
+    @SuppressWarnings("Immutable") // never thrown itself, only attached as a cause
+    private final @Nullable NoSuchAlgorithmException lookupFailure;
+    @SuppressWarnings("Immutable") // each thread owns its digest; MessageDigest.digest resets it after use
+    private final ThreadLocal<MessageDigest> pooled = ThreadLocal.withInitial(this::newMessageDigest);
+
+    MessageDigestDigestor(String algorithm) {
+        MessageDigest found = null;
+        NoSuchAlgorithmException failure = null;
+        try {
+            found = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            failure = e;
+        }
+        this.algorithm = algorithm;
+        this.prototype = found;
+        this.lookupFailure = failure;
+    }
+
+    @Override
+    public IncrementalDigest newDigest() {
+        return new MessageDigestIncrementalDigest(newMessageDigest());
+    }
+
+    @Override
+    public byte[] digest(byte[] payload) {
+        return pooled.get().digest(payload);
+    }
+
+    @Override
+    public String format(byte[] digest) {
+        return BASE64_ENCODER.encodeToString(digest);
+    }
+
+    private MessageDigest newMessageDigest() {
+        if (prototype == null) {
+            String message = algorithm + " digest is not available";
+            throw lookupFailure != null
+                    ? new UnavailableAlgorithmException(message, lookupFailure)
+                    : new UnavailableAlgorithmException(message);
+        }
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException lookupException) {
+                lookupException.addSuppressed(e);
+                throw new UnavailableAlgorithmException(algorithm + " digest is not available", lookupException);
+            }
+        }
+    }
+
+    private record MessageDigestIncrementalDigest(MessageDigest messageDigest) implements IncrementalDigest {
+
+        @Override
+        public IncrementalDigest update(byte[] input, int offset, int length) {
+            messageDigest.update(input, offset, length);
+            return this;
+        }
+
+        @Override
+        public byte[] digest() {
+            return messageDigest.digest();
+        }
+    }
+}
@@ -14,7 +14,16 @@ import com.google.errorprone.annotations.Immutable;
 public class UndigestedDigestor implements Digestor {
 
     @Override
-    public String checksum(byte[] payload) {
-        throw new UnavailableAlgorithmException("Digestor algorithm is none");
+    public IncrementalDigest newDigest() {
+        throw unavailable();
+    }
+
+    @Override
+    public String format(byte[] digest) {
+        throw unavailable();
+    }
+
+    private static UnavailableAlgorithmException unavailable() {
+        return new UnavailableAlgorithmException("Digestor algorithm is none");
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.algorithms.checksum;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+import com.google.errorprone.annotations.Immutable;
+
+/**
+ * xxHash64 (seed 0) digest implementation.
+ */
+@Immutable
+public class Xxh64Digestor implements Digestor {
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE_LENGTH = 32;
+
+    @Override
+    public IncrementalDigest newDigest() {
+        return new Xxh64IncrementalDigest();
+    }
+
+    @Override
+    public byte[] digest(byte[] payload) {
+        return toBytes(hash(payload, 0, payload.length));
+    }
+
+    @Override
+    public String format(byte[] digest) {
+        return BASE64_ENCODER.encodeToString(digest);
+    }
+
+    static long hash(byte[] input, int offset, int length) {
+        int position = offset;
+        int end = offset + length;
+        long hash;
+        if (length >= STRIPE_LENGTH) {
+            long v1 = PRIME64_1 + PRIME64_2;
+            long v2 = PRIME64_2;
+            long v3 = 0;
+            long v4 = -PRIME64_1;
+            int limit = end - STRIPE_LENGTH;
+            do {
+                v1 = round(v1, (long) LONG_LE.get(input, position));
+                v2 = round(v2, (long) LONG_LE.get(input, position + 8));
+                v3 = round(v3, (long) LONG_LE.get(input, position + 16));
+                v4 = round(v4, (long) LONG_LE.get(input, position + 24));
+                position += STRIPE_LENGTH;
+            } while (position <= limit);
+            hash = convergeLanes(v1, v2, v3, v4);
+        } else {
+            hash = PRIME64_5;
+        }
+        return finish(hash + length, input, position, end);
+    }
+
+    private static long convergeLanes(long v1, long v2, long v3, long v4) {
+        long hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        hash = mergeRound(hash, v1);
+        hash = mergeRound(hash, v2);
+        hash = mergeRound(hash, v3);
+        return mergeRound(hash, v4);
+    }
+
+    private static long finish(long hash, byte[] input, int position, int end) {
+        while (position + 8 <= end) {
+            hash ^= round(0, (long) LONG_LE.get(input, position));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+            position += 8;
+        }
+        if (position + 4 <= end) {
+            hash ^= ((int) INT_LE.get(input, position) & 0xFFFFFFFFL) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            position += 4;
+        }
+        while (position < end) {
+            hash ^= (input[position] & 0xFFL) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+            position++;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static byte[] toBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME64_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME64_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME64_1 + PRIME64_4;
+    }
+
+    private static final class Xxh64IncrementalDigest implements IncrementalDigest {
+
+        private final byte[] buffer = new byte[STRIPE_LENGTH];
+        private int buffered;
+        private long totalLength;
+        private long v1 = PRIME64_1 + PRIME64_2;
+        private long v2 = PRIME64_2;
+        private long v3;
+        private long v4 = -PRIME64_1;
+
+        @Override
+        public IncrementalDigest update(byte[] input, int offset, int length) {
+            totalLength += length;
+            int position = offset;
+            int end = offset + length;
+            if (buffered > 0) {
+                int filled = Math.min(STRIPE_LENGTH - buffered, length);
+                System.arraycopy(input, position, buffer, buffered, filled);
+                buffered += filled;
+                position += filled;
+                if (buffered < STRIPE_LENGTH) {
+                    return this;
+                }
+                consumeStripe(buffer, 0);
+                buffered = 0;
+            }
+            while (position + STRIPE_LENGTH <= end) {
+                consumeStripe(input, position);
+                position += STRIPE_LENGTH;
+            }
+            if (position < end) {
+                System.arraycopy(input, position, buffer, 0, end - position);
+                buffered = end - position;
+            }
+            return this;
+        }
+
+        @Override
+        public byte[] digest() {
+            long hash = totalLength >= STRIPE_LENGTH
+                    ? convergeLanes(v1, v2, v3, v4)
+                    : PRIME64_5;
+            return toBytes(finish(hash + totalLength, buffer, 0, buffered));
+        }
+
+        private void consumeStripe(byte[] input, int position) {
+            v1 = round(v1, (long) LONG_LE.get(input, position));
+            v2 = round(v2, (long) LONG_LE.get(input, position + 8));
+            v3 = round(v3, (long) LONG_LE.get(input, position + 16));
+            v4 = round(v4, (long) LONG_LE.get(input, position + 24));
+        }
+    }
+}
@@ -22,13 +22,19 @@ import com.google.errorprone.annotations.Immutable;
 @Immutable
 public class GzipCompressor implements Compressor {
 
+    private static final int OS_OFFSET = 9;
+    private static final byte OS_UNKNOWN = (byte) 255;
+
     @Override
     public byte[] compress(byte[] payload) {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             try (OutputStream compressedStream = new GZIPOutputStream(outputStream)) {
                 compressedStream.write(payload);
             }
-            return outputStream.toByteArray();
+            byte[] compressed = outputStream.toByteArray();
+            // the JDK always writes MTIME 0, but its OS byte differs across versions; pinned so every producer writes the same bytes
+            compressed[OS_OFFSET] = OS_UNKNOWN;
+            return compressed;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
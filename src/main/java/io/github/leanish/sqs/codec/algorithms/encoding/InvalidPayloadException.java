@@ -8,7 +8,7 @@ package io.github.leanish.sqs.codec.algorithms.encoding;
 import io.github.leanish.sqs.codec.CodecException;
 
 /**
- * Thrown when a payload cannot be decoded.
+ * Thrown when a payload cannot be encoded or decoded.
  */
 public class InvalidPayloadException extends CodecException {
 
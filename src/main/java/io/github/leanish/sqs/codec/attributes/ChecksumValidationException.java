@@ -39,6 +39,12 @@ public class ChecksumValidationException extends CodecException {
                 "Payload checksum mismatch");
     }
 
+    public static ChecksumValidationException serviceMismatch(String digestName) {
+        return new ChecksumValidationException(
+                digestName,
+                "SQS checksum mismatch: " + digestName);
+    }
+
     public @Nullable String detail() {
         return detail;
     }
@@ -13,8 +13,17 @@ public class CodecAttributes {
     public static final String CHECKSUM = "x-codec-checksum";
     public static final String CONF = "x-codec-conf";
     public static final String RAW_LENGTH = "x-codec-raw-length";
+    /** Compact (v2) Binary attribute carrying configuration, raw length and checksum in one slot. */
+    public static final String COMPACT = "x-codec";
+    /** Binary attribute carrying the payload when it does not travel in the body. */
+    public static final String PAYLOAD = "x-codec-payload";
+    /** Synthetic String attribute marking received messages that failed to decode and were delivered as-is. */
+    public static final String ERROR = "x-codec-error";
 
     public static final int VERSION_VALUE = 1;
+    public static final int COMPACT_VERSION_VALUE = 2;
+    /** {@code x-codec-conf} version written when the message uses features older consumers would silently misread. */
+    public static final int EXTENDED_VERSION_VALUE = 3;
 
     private CodecAttributes() {
     }
@@ -5,16 +5,22 @@
  */
 package io.github.leanish.sqs.codec.attributes;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 
 import io.github.leanish.sqs.codec.CodecConfiguration;
 import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
 import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadCarrier;
+import io.github.leanish.sqs.codec.algorithms.PayloadFormat;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 /**
@@ -22,6 +28,25 @@ import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
  */
 public class CodecConfigurationAttributeHandler {
 
+    // producers emit a handful of distinct conf values, so a small cache absorbs nearly every inbound message
+    static final int MAX_CACHED_CONFIGURATIONS = 64;
+    private static final Map<String, CodecConfigurationAttributeHandler> PARSED_CONFIGURATIONS = new ConcurrentHashMap<>();
+    private static final CodecConfigurationAttributeHandler UNCONFIGURED = new CodecConfigurationAttributeHandler(
+            new CodecConfiguration(
+                    CodecAttributes.VERSION_VALUE,
+                    CompressionAlgorithm.NONE,
+                    EncodingAlgorithm.NONE,
+                    ChecksumAlgorithm.NONE));
+
+    private static final int VERSION_KEY = 1;
+    private static final int COMPRESSION_KEY = 1 << 1;
+    private static final int ENCODING_KEY = 1 << 2;
+    private static final int CHECKSUM_KEY = 1 << 3;
+    private static final int CHECKSUM_SCOPE_KEY = 1 << 4;
+    private static final int COMPRESSED_ATTRIBUTES_KEY = 1 << 5;
+    private static final int PAYLOAD_CARRIER_KEY = 1 << 6;
+    private static final int PAYLOAD_FORMAT_KEY = 1 << 7;
+
     private final CodecConfiguration configuration;
 
     private CodecConfigurationAttributeHandler(
@@ -30,7 +55,8 @@ public class CodecConfigurationAttributeHandler {
     }
 
     public static boolean hasCodecAttributes(Map<String, MessageAttributeValue> attributes) {
-        return hasNonBlankAttribute(attributes, CodecAttributes.CONF);
+        return hasNonBlankAttribute(attributes, CodecAttributes.CONF)
+                || CompactCodecAttributeHandler.hasAttributes(attributes);
     }
 
     public static boolean hasConfigurationAttributes(Map<String, MessageAttributeValue> attributes) {
@@ -39,18 +65,24 @@ public class CodecConfigurationAttributeHandler {
 
     public static boolean hasAnyAttributes(Map<String, MessageAttributeValue> attributes) {
         return hasConfigurationAttributes(attributes)
-                || PayloadChecksumAttributeHandler.hasAttributes(attributes);
+                || PayloadChecksumAttributeHandler.hasAttributes(attributes)
+                || CompactCodecAttributeHandler.hasAttributes(attributes);
     }
 
     public static CodecConfigurationAttributeHandler forOutbound(CodecConfiguration configuration) {
-        EncodingAlgorithm effectiveEncoding = EncodingAlgorithm.effectiveFor(
-                configuration.compressionAlgorithm(),
-                configuration.encodingAlgorithm());
+        // a Binary attribute needs no text encoding
+        EncodingAlgorithm effectiveEncoding = configuration.payloadCarrier() == PayloadCarrier.ATTRIBUTE
+                ? EncodingAlgorithm.NONE
+                : EncodingAlgorithm.effectiveFor(configuration.compressionAlgorithm(), configuration.encodingAlgorithm());
         CodecConfiguration effectiveConfiguration = new CodecConfiguration(
                 configuration.version(),
                 configuration.compressionAlgorithm(),
                 effectiveEncoding,
-                configuration.checksumAlgorithm());
+                configuration.checksumAlgorithm(),
+                configuration.checksumScope(),
+                configuration.compressedAttributes(),
+                configuration.payloadCarrier(),
+                configuration.payloadFormat());
         return new CodecConfigurationAttributeHandler(
                 effectiveConfiguration);
     }
@@ -61,24 +93,43 @@ public class CodecConfigurationAttributeHandler {
             if (StringUtils.isBlank(confValue)) {
                 throw UnsupportedCodecConfigurationException.malformed(String.valueOf(confValue));
             }
-            CodecConfiguration configuration = parseConf(confValue);
-            return new CodecConfigurationAttributeHandler(configuration);
+            CodecConfigurationAttributeHandler cached = PARSED_CONFIGURATIONS.get(confValue);
+            if (cached != null) {
+                return cached;
+            }
+            CodecConfigurationAttributeHandler handler = new CodecConfigurationAttributeHandler(parseConf(confValue));
+            // compressed attribute lists vary per message and would only evict the shared values
+            if (handler.configuration().compressedAttributes().isEmpty()) {
+                // conf values come from remote producers: starting over when full keeps the lookup lock-free while
+                // letting the values in current use back in, instead of freezing the first ones ever seen
+                if (PARSED_CONFIGURATIONS.size() >= MAX_CACHED_CONFIGURATIONS) {
+                    PARSED_CONFIGURATIONS.clear();
+                }
+                PARSED_CONFIGURATIONS.put(confValue, handler);
+            }
+            return handler;
         }
-        CodecConfiguration configuration = new CodecConfiguration(
-                CodecAttributes.VERSION_VALUE,
-                CompressionAlgorithm.NONE,
-                EncodingAlgorithm.NONE,
-                ChecksumAlgorithm.NONE);
-        return new CodecConfigurationAttributeHandler(configuration);
+        return UNCONFIGURED;
+    }
+
+    static int cachedConfigurations() {
+        return PARSED_CONFIGURATIONS.size();
+    }
+
+    static void clearCachedConfigurations() {
+        PARSED_CONFIGURATIONS.clear();
     }
 
     public CodecConfiguration configuration() {
         return configuration;
     }
 
+    public MessageAttributeValue attributeValue() {
+        return MessageAttributeUtils.stringAttribute(formatConfValue(configuration));
+    }
+
     public void applyTo(Map<String, MessageAttributeValue> attributes) {
-        attributes.put(CodecAttributes.CONF,
-                MessageAttributeUtils.stringAttribute(formatConfValue(configuration)));
+        attributes.put(CodecAttributes.CONF, attributeValue());
     }
 
     private static boolean hasNonBlankAttribute(Map<String, MessageAttributeValue> attributes, String name) {
@@ -86,7 +137,152 @@ public class CodecConfigurationAttributeHandler {
         return StringUtils.isNotBlank(value);
     }
 
-    private static CodecConfiguration parseConf(String confValue) {
+    /**
+     * Single pass over {@code confValue} that records the span of each known key, then resolves
+     * the spans in a fixed order; no substrings are created unless an error is reported.
+     */
+    static CodecConfiguration parseConf(String confValue) {
+        int length = confValue.length();
+        int seenKeys = 0;
+        int versionStart = -1;
+        int versionEnd = -1;
+        int compressionStart = -1;
+        int compressionEnd = -1;
+        int encodingStart = -1;
+        int encodingEnd = -1;
+        int checksumStart = -1;
+        int checksumEnd = -1;
+        int checksumScopeStart = -1;
+        int checksumScopeEnd = -1;
+        int compressedAttributesStart = -1;
+        int compressedAttributesEnd = -1;
+        int payloadCarrierStart = -1;
+        int payloadCarrierEnd = -1;
+        int payloadFormatStart = -1;
+        int payloadFormatEnd = -1;
+        boolean hasEntries = false;
+
+        int entryStart = 0;
+        while (entryStart <= length) {
+            int separator = confValue.indexOf(';', entryStart);
+            int entryEnd = separator < 0 ? length : separator;
+            int start = skipWhitespace(confValue, entryStart, entryEnd);
+            int end = trimWhitespace(confValue, start, entryEnd);
+            entryStart = entryEnd + 1;
+            if (start == end) {
+                continue;
+            }
+            hasEntries = true;
+            int idx = confValue.indexOf('=', start);
+            if (idx < 0 || idx >= end) {
+                throw UnsupportedCodecConfigurationException.malformed(confValue);
+            }
+            if (idx == start || idx == end - 1) {
+                throw UnsupportedCodecConfigurationException.malformed(confValue);
+            }
+            int keyEnd = trimWhitespace(confValue, start, idx);
+            int valueStart = skipWhitespace(confValue, idx + 1, end);
+            if (keyEnd == start || valueStart == end) {
+                throw UnsupportedCodecConfigurationException.malformed(confValue);
+            }
+            int key = keyEnd - start == 1 ? knownKey(confValue.charAt(start)) : 0;
+            if (key == 0) {
+                return parseConfWithUnknownKeys(confValue);
+            }
+            if ((seenKeys & key) != 0) {
+                throw UnsupportedCodecConfigurationException.duplicateKey(
+                        confValue.substring(start, keyEnd).toLowerCase(Locale.ROOT));
+            }
+            seenKeys |= key;
+            switch (key) {
+                case VERSION_KEY -> {
+                    versionStart = valueStart;
+                    versionEnd = end;
+                }
+                case COMPRESSION_KEY -> {
+                    compressionStart = valueStart;
+                    compressionEnd = end;
+                }
+                case ENCODING_KEY -> {
+                    encodingStart = valueStart;
+                    encodingEnd = end;
+                }
+                case CHECKSUM_KEY -> {
+                    checksumStart = valueStart;
+                    checksumEnd = end;
+                }
+                case CHECKSUM_SCOPE_KEY -> {
+                    checksumScopeStart = valueStart;
+                    checksumScopeEnd = end;
+                }
+                case COMPRESSED_ATTRIBUTES_KEY -> {
+                    compressedAttributesStart = valueStart;
+                    compressedAttributesEnd = end;
+                }
+                case PAYLOAD_CARRIER_KEY -> {
+                    payloadCarrierStart = valueStart;
+                    payloadCarrierEnd = end;
+                }
+                default -> {
+                    payloadFormatStart = valueStart;
+                    payloadFormatEnd = end;
+                }
+            }
+        }
+        if (!hasEntries && confValue.isBlank()) {
+            throw UnsupportedCodecConfigurationException.malformed(confValue);
+        }
+
+        int version = CodecAttributes.VERSION_VALUE;
+        if (versionStart >= 0) {
+            try {
+                version = Integer.parseInt(confValue, versionStart, versionEnd, 10);
+            } catch (NumberFormatException e) {
+                throw UnsupportedCodecConfigurationException.unsupportedVersion(confValue.substring(versionStart, versionEnd));
+            }
+            if (!isSupportedVersion(version)) {
+                throw UnsupportedCodecConfigurationException.unsupportedVersion(confValue.substring(versionStart, versionEnd));
+            }
+        }
+        CompressionAlgorithm compressionAlgorithm = compressionStart < 0
+                ? CompressionAlgorithm.NONE
+                : CompressionAlgorithm.fromId(confValue, compressionStart, compressionEnd);
+        EncodingAlgorithm encodingAlgorithm = encodingStart < 0
+                ? EncodingAlgorithm.NONE
+                : EncodingAlgorithm.fromId(confValue, encodingStart, encodingEnd);
+        ChecksumAlgorithm checksumAlgorithm = checksumStart < 0
+                ? ChecksumAlgorithm.NONE
+                : ChecksumAlgorithm.fromId(confValue, checksumStart, checksumEnd);
+        ChecksumScope checksumScope = checksumScopeStart < 0
+                ? ChecksumScope.RAW
+                : ChecksumScope.fromId(confValue, checksumScopeStart, checksumScopeEnd);
+        List<String> compressedAttributes = compressedAttributesStart < 0
+                ? List.of()
+                : parseAttributeNames(confValue, compressedAttributesStart, compressedAttributesEnd);
+        PayloadCarrier payloadCarrier = payloadCarrierStart < 0
+                ? PayloadCarrier.BODY
+                : PayloadCarrier.fromId(confValue, payloadCarrierStart, payloadCarrierEnd);
+        PayloadFormat payloadFormat = payloadFormatStart < 0
+                ? PayloadFormat.SINGLE
+                : PayloadFormat.fromId(confValue, payloadFormatStart, payloadFormatEnd);
+
+        // v3 only marks the features v1 consumers would misread; the attribute format is still v1
+        return new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                payloadFormat);
+    }
+
+    /**
+     * Map-based parser, used when the conf value carries keys this version does not know
+     * (duplicate detection then has to compare arbitrary keys).
+     */
+    static CodecConfiguration parseConfWithUnknownKeys(String confValue) {
         String trimmed = confValue.trim();
         if (trimmed.isEmpty()) {
             throw UnsupportedCodecConfigurationException.malformed(confValue);
@@ -96,6 +292,10 @@ public class CodecConfigurationAttributeHandler {
         CompressionAlgorithm compressionAlgorithm = CompressionAlgorithm.NONE;
         EncodingAlgorithm encodingAlgorithm = EncodingAlgorithm.NONE;
         ChecksumAlgorithm checksumAlgorithm = ChecksumAlgorithm.NONE;
+        ChecksumScope checksumScope = ChecksumScope.RAW;
+        List<String> compressedAttributes = List.of();
+        PayloadCarrier payloadCarrier = PayloadCarrier.BODY;
+        PayloadFormat payloadFormat = PayloadFormat.SINGLE;
 
         String[] parts = StringUtils.split(trimmed, ';');
         Map<String, String> values = new HashMap<>();
@@ -125,7 +325,7 @@ public class CodecConfigurationAttributeHandler {
             } catch (NumberFormatException e) {
                 throw UnsupportedCodecConfigurationException.unsupportedVersion(versionValue);
             }
-            if (version != CodecAttributes.VERSION_VALUE) {
+            if (!isSupportedVersion(version)) {
                 throw UnsupportedCodecConfigurationException.unsupportedVersion(versionValue);
             }
         }
@@ -142,14 +342,128 @@ public class CodecConfigurationAttributeHandler {
         if (checksumValue != null) {
             checksumAlgorithm = ChecksumAlgorithm.fromId(checksumValue);
         }
+        String checksumScopeValue = values.get("s");
+        if (checksumScopeValue != null) {
+            checksumScope = ChecksumScope.fromId(checksumScopeValue);
+        }
+        String compressedAttributesValue = values.get("a");
+        if (compressedAttributesValue != null) {
+            compressedAttributes = parseAttributeNames(confValue, compressedAttributesValue);
+        }
+        String payloadCarrierValue = values.get("p");
+        if (payloadCarrierValue != null) {
+            payloadCarrier = PayloadCarrier.fromId(payloadCarrierValue);
+        }
+        String payloadFormatValue = values.get("f");
+        if (payloadFormatValue != null) {
+            payloadFormat = PayloadFormat.fromId(payloadFormatValue);
+        }
+
+        return new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope,
+                compressedAttributes,
+                payloadCarrier,
+                payloadFormat);
+    }
+
+    private static boolean isSupportedVersion(int version) {
+        return version == CodecAttributes.VERSION_VALUE || version == CodecAttributes.EXTENDED_VERSION_VALUE;
+    }
+
+    private static int knownKey(char key) {
+        return switch (Character.toLowerCase(key)) {
+            case 'v' -> VERSION_KEY;
+            case 'c' -> COMPRESSION_KEY;
+            case 'e' -> ENCODING_KEY;
+            case 'h' -> CHECKSUM_KEY;
+            case 's' -> CHECKSUM_SCOPE_KEY;
+            case 'a' -> COMPRESSED_ATTRIBUTES_KEY;
+            case 'p' -> PAYLOAD_CARRIER_KEY;
+            case 'f' -> PAYLOAD_FORMAT_KEY;
+            default -> 0;
+        };
+    }
 
-        return new CodecConfiguration(version, compressionAlgorithm, encodingAlgorithm, checksumAlgorithm);
+    private static List<String> parseAttributeNames(String confValue, String value) {
+        return parseAttributeNames(confValue, value, 0, value.length());
+    }
+
+    private static List<String> parseAttributeNames(String confValue, int start, int end) {
+        return parseAttributeNames(confValue, confValue, start, end);
+    }
+
+    // comma-separated; SQS attribute names cannot contain ',', ';' or '='
+    private static List<String> parseAttributeNames(String confValue, String value, int start, int end) {
+        List<String> names = new ArrayList<>();
+        int nameStart = start;
+        while (nameStart <= end) {
+            int separator = value.indexOf(',', nameStart);
+            int nameEnd = separator < 0 || separator > end ? end : separator;
+            int trimmedStart = skipWhitespace(value, nameStart, nameEnd);
+            int trimmedEnd = trimWhitespace(value, trimmedStart, nameEnd);
+            if (trimmedStart < trimmedEnd) {
+                names.add(value.substring(trimmedStart, trimmedEnd));
+            }
+            nameStart = nameEnd + 1;
+        }
+        if (names.isEmpty()) {
+            throw UnsupportedCodecConfigurationException.malformed(confValue);
+        }
+        return names;
+    }
+
+    // same whitespace notion as String.trim()
+    private static int skipWhitespace(String value, int start, int end) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimWhitespace(String value, int start, int end) {
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
 
     private static String formatConfValue(CodecConfiguration configuration) {
-        return "v=" + configuration.version()
+        String confValue = "v=" + writtenVersion(configuration)
                 + ";c=" + configuration.compressionAlgorithm().id()
                 + ";e=" + configuration.encodingAlgorithm().id()
                 + ";h=" + configuration.checksumAlgorithm().id();
+        if (configuration.checksumScope() != ChecksumScope.RAW) {
+            confValue += ";s=" + configuration.checksumScope().id();
+        }
+        if (!configuration.compressedAttributes().isEmpty()) {
+            confValue += ";a=" + String.join(",", configuration.compressedAttributes());
+        }
+        if (configuration.payloadCarrier() != PayloadCarrier.BODY) {
+            confValue += ";p=" + configuration.payloadCarrier().id();
+        }
+        if (configuration.payloadFormat() != PayloadFormat.SINGLE) {
+            confValue += ";f=" + configuration.payloadFormat().id();
+        }
+        return confValue;
+    }
+
+    /**
+     * Consumers before v3 ignore unknown keys, so they would verify an encoded-scope checksum against the decoded
+     * payload (a false integrity error), base64-decode the carried payload's placeholder body, deliver a framed
+     * envelope as one payload or hand out compressed attribute bytes as values; v3 makes them reject the message as
+     * unsupported instead.
+     */
+    private static int writtenVersion(CodecConfiguration configuration) {
+        if (configuration.checksumScope() != ChecksumScope.RAW
+                || configuration.payloadCarrier() != PayloadCarrier.BODY
+                || configuration.payloadFormat() != PayloadFormat.SINGLE
+                || !configuration.compressedAttributes().isEmpty()) {
+            return CodecAttributes.EXTENDED_VERSION_VALUE;
+        }
+        return configuration.version();
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import io.github.leanish.sqs.codec.CodecConfiguration;
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Parses and writes the compact (v2) codec attribute, which replaces the conf, checksum and raw length attributes.
+ * Layout: version, compression, encoding, checksum algorithm and checksum scope codes (one byte each),
+ * the raw payload length (4 bytes, big-endian), then the checksum digest bytes (empty without checksum).
+ */
+public class CompactCodecAttributeHandler {
+
+    private static final int HEADER_LENGTH = 9;
+    private static final byte[] NO_DIGEST = new byte[0];
+
+    private final CodecConfiguration configuration;
+    private final int rawLength;
+    private final byte[] digest;
+
+    private CompactCodecAttributeHandler(CodecConfiguration configuration, int rawLength, byte[] digest) {
+        this.configuration = configuration;
+        this.rawLength = rawLength;
+        this.digest = digest;
+    }
+
+    public static boolean hasAttributes(Map<String, MessageAttributeValue> attributes) {
+        return attributes.containsKey(CodecAttributes.COMPACT);
+    }
+
+    public static CompactCodecAttributeHandler forOutbound(
+            CodecConfiguration configuration,
+            int rawLength,
+            byte[] checksummedBytes) {
+        byte[] digest = NO_DIGEST;
+        if (configuration.checksumAlgorithm() != ChecksumAlgorithm.NONE) {
+            digest = configuration.checksumAlgorithm()
+                    .implementation()
+                    .digest(checksummedBytes);
+        }
+        return new CompactCodecAttributeHandler(configuration, rawLength, digest);
+    }
+
+    public static CompactCodecAttributeHandler fromAttributes(Map<String, MessageAttributeValue> attributes) {
+        MessageAttributeValue attributeValue = attributes.get(CodecAttributes.COMPACT);
+        SdkBytes binaryValue = attributeValue != null ? attributeValue.binaryValue() : null;
+        if (binaryValue == null) {
+            throw UnsupportedCodecConfigurationException.malformed(
+                    String.valueOf(attributeValue != null ? attributeValue.stringValue() : null));
+        }
+        ByteBuffer buffer = binaryValue.asByteBuffer();
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw malformed(binaryValue);
+        }
+        byte version = buffer.get();
+        if (version != CodecAttributes.COMPACT_VERSION_VALUE) {
+            throw UnsupportedCodecConfigurationException.unsupportedVersion(Byte.toString(version));
+        }
+        CompressionAlgorithm compressionAlgorithm = CompressionAlgorithm.fromCode(buffer.get());
+        EncodingAlgorithm encodingAlgorithm = EncodingAlgorithm.fromCode(buffer.get());
+        ChecksumAlgorithm checksumAlgorithm = ChecksumAlgorithm.fromCode(buffer.get());
+        ChecksumScope checksumScope = ChecksumScope.fromCode(buffer.get());
+        int rawLength = buffer.getInt();
+        // a digest must be present exactly when a checksum algorithm is
+        if (rawLength < 0 || (checksumAlgorithm == ChecksumAlgorithm.NONE) != (buffer.remaining() == 0)) {
+            throw malformed(binaryValue);
+        }
+        byte[] digest = NO_DIGEST;
+        if (buffer.hasRemaining()) {
+            digest = new byte[buffer.remaining()];
+            buffer.get(digest);
+        }
+
+        CodecConfiguration configuration = new CodecConfiguration(
+                version,
+                compressionAlgorithm,
+                encodingAlgorithm,
+                checksumAlgorithm,
+                checksumScope);
+        return new CompactCodecAttributeHandler(configuration, rawLength, digest);
+    }
+
+    public CodecConfiguration configuration() {
+        return configuration;
+    }
+
+    public int rawLength() {
+        return rawLength;
+    }
+
+    /**
+     * The digest in the textual form of {@link CodecAttributes#CHECKSUM}, so both formats share validation.
+     */
+    @Nullable
+    public String checksumValue() {
+        if (digest.length == 0) {
+            return null;
+        }
+        return configuration.checksumAlgorithm()
+                .implementation()
+                .format(digest);
+    }
+
+    public void applyTo(Map<String, MessageAttributeValue> attributes) {
+        byte[] value = ByteBuffer.allocate(HEADER_LENGTH + digest.length)
+                .put((byte) CodecAttributes.COMPACT_VERSION_VALUE)
+                .put(configuration.compressionAlgorithm().code())
+                .put(configuration.encodingAlgorithm().code())
+                .put(configuration.checksumAlgorithm().code())
+                .put(configuration.checksumScope().code())
+                .putInt(rawLength)
+                .put(digest)
+                .array();
+        attributes.put(CodecAttributes.COMPACT, MessageAttributeUtils.binaryAttribute(value));
+    }
+
+    private static UnsupportedCodecConfigurationException malformed(SdkBytes value) {
+        return UnsupportedCodecConfigurationException.malformed(
+                Base64.getEncoder().encodeToString(value.asByteArrayUnsafe()));
+    }
+}
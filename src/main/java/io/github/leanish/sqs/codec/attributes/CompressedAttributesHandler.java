@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.leanish.sqs.codec.CodecConfiguration;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Compresses large String user attributes into Binary attributes and restores them on receive.
+ * The original data type is kept as the custom type label ({@code String.json} becomes {@code Binary.String.json}).
+ */
+public class CompressedAttributesHandler {
+
+    private static final String BINARY_TYPE_PREFIX = "Binary.";
+    private static final String STRING_TYPE = "String";
+
+    private CompressedAttributesHandler() {
+    }
+
+    /**
+     * Replaces, in place, String attributes of at least {@code threshold} UTF-8 bytes that compress smaller.
+     *
+     * @return the sorted names of the replaced attributes
+     */
+    public static List<String> compress(
+            Map<String, MessageAttributeValue> attributes,
+            CompressionAlgorithm compressionAlgorithm,
+            int threshold) {
+        List<String> compressed = List.of();
+        for (Map.Entry<String, MessageAttributeValue> entry : attributes.entrySet()) {
+            MessageAttributeValue value = entry.getValue();
+            String stringValue = value.stringValue();
+            // UTF-8 needs at most 3 bytes per char, so short values are skipped without encoding them
+            if (stringValue == null
+                    || !value.dataType().startsWith(STRING_TYPE)
+                    || stringValue.length() * 3L < threshold) {
+                continue;
+            }
+            byte[] bytes = stringValue.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < threshold) {
+                continue;
+            }
+            byte[] compressedBytes = compressionAlgorithm.implementation()
+                    .compress(bytes);
+            if (compressedBytes.length >= bytes.length) {
+                continue;
+            }
+            entry.setValue(MessageAttributeValue.builder()
+                    .dataType(BINARY_TYPE_PREFIX + value.dataType())
+                    .binaryValue(SdkBytes.fromByteArrayUnsafe(compressedBytes))
+                    .build());
+            if (compressed.isEmpty()) {
+                compressed = new ArrayList<>();
+            }
+            compressed.add(entry.getKey());
+        }
+        if (compressed.size() > 1) {
+            compressed.sort(null);
+        }
+        return compressed;
+    }
+
+    /**
+     * Returns the attributes with the ones listed in the configuration decompressed.
+     * Listed attributes that were not received (not requested on receive) are skipped.
+     */
+    public static Map<String, MessageAttributeValue> restore(
+            Map<String, MessageAttributeValue> attributes,
+            CodecConfiguration configuration) {
+        Map<String, MessageAttributeValue> restored = new HashMap<>(attributes);
+        for (String name : configuration.compressedAttributes()) {
+            MessageAttributeValue value = attributes.get(name);
+            if (value == null) {
+                continue;
+            }
+            if (value.binaryValue() == null || !value.dataType().startsWith(BINARY_TYPE_PREFIX)) {
+                throw UnsupportedCodecConfigurationException.invalidCompressedAttribute(name);
+            }
+            byte[] bytes = configuration.compressionAlgorithm()
+                    .implementation()
+                    .decompress(value.binaryValue().asByteArrayUnsafe());
+            restored.put(name, MessageAttributeValue.builder()
+                    .dataType(value.dataType().substring(BINARY_TYPE_PREFIX.length()))
+                    .stringValue(new String(bytes, StandardCharsets.UTF_8))
+                    .build());
+        }
+        return restored;
+    }
+}
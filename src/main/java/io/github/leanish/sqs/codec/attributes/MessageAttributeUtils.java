@@ -9,6 +9,7 @@ import java.util.Map;
 
 import org.jspecify.annotations.Nullable;
 
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 /**
@@ -35,6 +36,13 @@ public class MessageAttributeUtils {
                 .build();
     }
 
+    public static MessageAttributeValue binaryAttribute(byte[] value) {
+        return MessageAttributeValue.builder()
+                .dataType("Binary")
+                .binaryValue(SdkBytes.fromByteArrayUnsafe(value))
+                .build();
+    }
+
     public static MessageAttributeValue numberAttribute(int value) {
         return MessageAttributeValue.builder()
                 .dataType("Number")
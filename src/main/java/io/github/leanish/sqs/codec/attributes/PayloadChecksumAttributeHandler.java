@@ -25,12 +25,17 @@ public class PayloadChecksumAttributeHandler {
     }
 
     public static PayloadChecksumAttributeHandler forOutbound(ChecksumAlgorithm checksumAlgorithm, byte[] payloadBytes) {
-        String checksumValue = "";
-        if (checksumAlgorithm != ChecksumAlgorithm.NONE) {
-            checksumValue = checksumAlgorithm.implementation()
-                    .checksum(payloadBytes);
+        String checksumValue = checksumFor(checksumAlgorithm, payloadBytes);
+        return new PayloadChecksumAttributeHandler(checksumValue != null ? checksumValue : "");
+    }
+
+    @Nullable
+    public static String checksumFor(ChecksumAlgorithm checksumAlgorithm, byte[] payloadBytes) {
+        if (checksumAlgorithm == ChecksumAlgorithm.NONE) {
+            return null;
         }
-        return new PayloadChecksumAttributeHandler(checksumValue);
+        return checksumAlgorithm.implementation()
+                .checksum(payloadBytes);
     }
 
     public static boolean hasAttributes(Map<String, MessageAttributeValue> attributes) {
@@ -47,21 +52,51 @@ public class PayloadChecksumAttributeHandler {
             ChecksumAlgorithm checksumAlgorithm,
             @Nullable String checksumValue,
             byte[] payloadBytes) {
+        String expectedChecksum = requiredChecksum(checksumAlgorithm, checksumValue);
+        if (expectedChecksum == null) {
+            return;
+        }
+
+        boolean matches = checksumAlgorithm.implementation()
+                .matches(payloadBytes, expectedChecksum);
+        if (!matches) {
+            throw ChecksumValidationException.mismatch();
+        }
+    }
+
+    /**
+     * Same as {@link #validate(ChecksumAlgorithm, String, byte[])} for a digest computed by the caller.
+     */
+    public static void validateDigest(
+            ChecksumAlgorithm checksumAlgorithm,
+            @Nullable String checksumValue,
+            byte[] digest) {
+        String expectedChecksum = requiredChecksum(checksumAlgorithm, checksumValue);
+        if (expectedChecksum == null) {
+            return;
+        }
+
+        boolean matches = checksumAlgorithm.implementation()
+                .matchesDigest(digest, expectedChecksum);
+        if (!matches) {
+            throw ChecksumValidationException.mismatch();
+        }
+    }
+
+    @Nullable
+    private static String requiredChecksum(
+            ChecksumAlgorithm checksumAlgorithm,
+            @Nullable String checksumValue) {
         if (checksumAlgorithm == ChecksumAlgorithm.NONE) {
             if (StringUtils.isNotBlank(checksumValue)) {
                 throw ChecksumValidationException.missingAlgorithm();
             }
-            return;
+            return null;
         }
         if (StringUtils.isBlank(checksumValue)) {
             throw ChecksumValidationException.missingAttribute(CodecAttributes.CHECKSUM);
         }
-
-        String actualChecksum = checksumAlgorithm.implementation()
-                .checksum(payloadBytes);
-        if (!actualChecksum.equals(checksumValue)) {
-            throw ChecksumValidationException.mismatch();
-        }
+        return checksumValue;
     }
 
     public void applyTo(Map<String, MessageAttributeValue> attributes) {
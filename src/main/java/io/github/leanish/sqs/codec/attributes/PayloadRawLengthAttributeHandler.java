@@ -7,6 +7,7 @@ package io.github.leanish.sqs.codec.attributes;
 
 import java.util.Map;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.jspecify.annotations.Nullable;
 
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
@@ -27,6 +28,14 @@ public class PayloadRawLengthAttributeHandler {
         return new PayloadRawLengthAttributeHandler(rawLength);
     }
 
+    /**
+     * The recorded raw payload length, or -1 when it is missing or not a number; only used as a size hint.
+     */
+    public static long rawLength(Map<String, MessageAttributeValue> attributes) {
+        String value = MessageAttributeUtils.attributeValue(attributes, CodecAttributes.RAW_LENGTH);
+        return Math.max(NumberUtils.toLong(value, -1), -1);
+    }
+
     public void applyTo(Map<String, MessageAttributeValue> attributes) {
         if (rawLength != null) {
             attributes.put(CodecAttributes.RAW_LENGTH, MessageAttributeUtils.numberAttribute(rawLength));
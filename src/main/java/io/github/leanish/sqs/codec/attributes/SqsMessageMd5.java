@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jspecify.annotations.Nullable;
+
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.checksum.IncrementalDigest;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Validates the MD5 digests SQS returns for message bodies and message attributes,
+ * replacing the SDK's own validation (which cannot see the encoded body once the codec decoded it).
+ */
+public class SqsMessageMd5 {
+
+    public static final String BODY = "MD5OfBody";
+    public static final String MESSAGE_ATTRIBUTES = "MD5OfMessageAttributes";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte STRING_TYPE = 1;
+    private static final byte BINARY_TYPE = 2;
+    private static final byte STRING_LIST_TYPE = 3;
+    private static final byte BINARY_LIST_TYPE = 4;
+
+    private SqsMessageMd5() {
+    }
+
+    public static byte[] bodyDigest(byte[] bodyBytes) {
+        return ChecksumAlgorithm.MD5.implementation()
+                .digest(bodyBytes);
+    }
+
+    /**
+     * Validates a body digest against the hex {@code MD5OfBody}; absent values are not validated, as in the SDK.
+     */
+    public static void validateBody(@Nullable String expectedMd5, byte[] bodyDigest) {
+        if (expectedMd5 != null && !matches(expectedMd5, bodyDigest)) {
+            throw ChecksumValidationException.serviceMismatch(BODY);
+        }
+    }
+
+    public static void validateMessageAttributes(
+            @Nullable String expectedMd5,
+            Map<String, MessageAttributeValue> attributes) {
+        if (expectedMd5 == null || attributes.isEmpty()) {
+            return;
+        }
+        if (!matches(expectedMd5, messageAttributesDigest(attributes))) {
+            throw ChecksumValidationException.serviceMismatch(MESSAGE_ATTRIBUTES);
+        }
+    }
+
+    /**
+     * Computes the SQS message attributes digest: attributes sorted by name, each encoded as
+     * length-prefixed name, data type, a transport type byte and the length-prefixed value(s).
+     */
+    static byte[] messageAttributesDigest(Map<String, MessageAttributeValue> attributes) {
+        IncrementalDigest digest = ChecksumAlgorithm.MD5.implementation()
+                .newDigest();
+        for (Map.Entry<String, MessageAttributeValue> entry : new TreeMap<>(attributes).entrySet()) {
+            MessageAttributeValue value = entry.getValue();
+            update(digest, entry.getKey());
+            update(digest, value.dataType());
+            if (value.stringValue() != null) {
+                digest.update(new byte[] {STRING_TYPE});
+                update(digest, value.stringValue());
+            } else if (value.binaryValue() != null) {
+                digest.update(new byte[] {BINARY_TYPE});
+                update(digest, value.binaryValue());
+            } else if (!value.stringListValues().isEmpty()) {
+                digest.update(new byte[] {STRING_LIST_TYPE});
+                value.stringListValues().forEach(item -> update(digest, item));
+            } else if (!value.binaryListValues().isEmpty()) {
+                digest.update(new byte[] {BINARY_LIST_TYPE});
+                value.binaryListValues().forEach(item -> update(digest, item));
+            }
+        }
+        return digest.digest();
+    }
+
+    private static boolean matches(String expectedMd5, byte[] digest) {
+        byte[] expected;
+        try {
+            expected = HEX.parseHex(expectedMd5);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, digest);
+    }
+
+    private static void update(IncrementalDigest digest, String value) {
+        update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void update(IncrementalDigest digest, SdkBytes value) {
+        update(digest, value.asByteArrayUnsafe());
+    }
+
+    private static void update(IncrementalDigest digest, byte[] value) {
+        int length = value.length;
+        digest.update(new byte[] {
+                (byte) (length >>> 24),
+                (byte) (length >>> 16),
+                (byte) (length >>> 8),
+                (byte) length
+        });
+        digest.update(value);
+    }
+}
@@ -29,4 +29,14 @@ public class UnsupportedCodecConfigurationException extends CodecException {
         return new UnsupportedCodecConfigurationException(
                 "Unsupported codec version: " + version);
     }
+
+    public static UnsupportedCodecConfigurationException missingPayload(String name) {
+        return new UnsupportedCodecConfigurationException(
+                "Missing codec payload attribute: " + name);
+    }
+
+    public static UnsupportedCodecConfigurationException invalidCompressedAttribute(String name) {
+        return new UnsupportedCodecConfigurationException(
+                "Invalid compressed attribute: " + name);
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChecksumVerificationPolicyTest {
+
+    @Test
+    void always() {
+        ChecksumVerificationPolicy policy = ChecksumVerificationPolicy.always();
+
+        IntStream.range(0, 10).forEach(i -> assertThat(policy.shouldVerify()).isTrue());
+
+        assertThat(policy.verifications())
+                .isEqualTo(10);
+        assertThat(policy.skippedVerifications())
+                .isZero();
+    }
+
+    @Test
+    void never() {
+        ChecksumVerificationPolicy policy = ChecksumVerificationPolicy.never();
+
+        IntStream.range(0, 10).forEach(i -> assertThat(policy.shouldVerify()).isFalse());
+
+        assertThat(policy.verifications())
+                .isZero();
+        assertThat(policy.skippedVerifications())
+                .isEqualTo(10);
+    }
+
+    @Test
+    void sampled() {
+        ChecksumVerificationPolicy policy = ChecksumVerificationPolicy.sampled(0.5);
+
+        IntStream.range(0, 1_000).forEach(i -> policy.shouldVerify());
+        policy.recordMismatch();
+
+        assertThat(policy.verifications() + policy.skippedVerifications())
+                .isEqualTo(1_000);
+        assertThat(policy.verifications())
+                .isBetween(300L, 700L);
+        assertThat(policy.mismatches())
+                .isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    void sampled_invalidFraction(double fraction) {
+        assertThatThrownBy(() -> ChecksumVerificationPolicy.sampled(fraction))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
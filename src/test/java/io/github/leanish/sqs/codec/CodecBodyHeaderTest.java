@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.UnsupportedAlgorithmException;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import io.github.leanish.sqs.codec.attributes.UnsupportedCodecConfigurationException;
+
+class CodecBodyHeaderTest {
+
+    @Test
+    void write_happyCase() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.GZIP,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.XXH64,
+                ChecksumScope.ENCODED);
+
+        String body = CodecBodyHeader.write(CodecBodyHeader.prefix(configuration), "EQCdLoDdt4g", "H4sI");
+
+        assertThat(body)
+                .isEqualTo("~sqsc13141EQCdLoDdt4g~H4sI");
+        assertThat(CodecBodyHeader.read(body))
+                .isEqualTo(new CodecBodyHeader(configuration, "EQCdLoDdt4g", 22));
+    }
+
+    @Test
+    void read_noChecksum() {
+        assertThat(CodecBodyHeader.read("~sqsc10000~{\"value\":42}"))
+                .isEqualTo(new CodecBodyHeader(
+                        new CodecConfiguration(
+                                CodecAttributes.VERSION_VALUE,
+                                CompressionAlgorithm.NONE,
+                                EncodingAlgorithm.NONE,
+                                ChecksumAlgorithm.NONE),
+                        null,
+                        11));
+    }
+
+    @Test
+    void read_noHeader() {
+        assertThat(CodecBodyHeader.read("{\"value\":42}"))
+                .isNull();
+        assertThat(CodecBodyHeader.read("~sqs"))
+                .isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "~sqsc1000|Unsupported codec configuration: ~sqsc1000",
+            "~sqsc10000body|Unsupported codec configuration: ~sqsc10000",
+            "~sqsc20000~body|Unsupported codec version: 2",
+            "~sqsc1\uFF10000~body|Unsupported codec configuration: ~sqsc1\uFF10000",
+            "~sqsc10000\u00e9~body|Unsupported codec configuration: ~sqsc10000\u00e9"
+    })
+    void read_malformed(String body, String message) {
+        assertThatThrownBy(() -> CodecBodyHeader.read(body))
+                .isInstanceOf(UnsupportedCodecConfigurationException.class)
+                .hasMessage(message);
+    }
+
+    @Test
+    void read_unsupportedCode() {
+        assertThatThrownBy(() -> CodecBodyHeader.read("~sqsc10z00~body"))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload encoding: 35");
+    }
+}
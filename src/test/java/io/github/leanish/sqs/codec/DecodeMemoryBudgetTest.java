@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class DecodeMemoryBudgetTest {
+
+    @Test
+    void acquire_clampsToBudget() {
+        DecodeMemoryBudget budget = DecodeMemoryBudget.blocking(100);
+
+        long reserved = budget.acquire(1_000);
+
+        assertThat(reserved)
+                .isEqualTo(100);
+        assertThat(budget.usedBytes())
+                .isEqualTo(100);
+
+        budget.release(reserved);
+
+        assertThat(budget.usedBytes())
+                .isZero();
+    }
+
+    @Test
+    void acquire_negativeRejected() {
+        DecodeMemoryBudget budget = DecodeMemoryBudget.blocking(100);
+
+        assertThatThrownBy(() -> budget.acquire(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Decode reservation must not be negative: -1");
+        assertThat(budget.usedBytes())
+                .isZero();
+    }
+
+    @Test
+    void shedding_negativeWaitRejected() {
+        assertThatThrownBy(() -> DecodeMemoryBudget.shedding(100, Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Decode memory budget wait must not be negative: PT-0.001S");
+    }
+
+    @Test
+    void acquire_blocksUntilReleased() throws Exception {
+        DecodeMemoryBudget budget = DecodeMemoryBudget.blocking(100);
+        long first = budget.acquire(60);
+
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> budget.acquire(60));
+        while (budget.waits() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(second)
+                .isNotDone();
+
+        budget.release(first);
+
+        assertThat(second.get(5, TimeUnit.SECONDS))
+                .isEqualTo(60);
+        assertThat(budget.usedBytes())
+                .isEqualTo(60);
+        assertThat(budget.waitTime())
+                .isPositive();
+    }
+
+    @Test
+    void acquire_shedsAfterMaxWait() {
+        DecodeMemoryBudget budget = DecodeMemoryBudget.shedding(100, Duration.ofMillis(10));
+        budget.acquire(100);
+
+        assertThatThrownBy(() -> budget.acquire(1))
+                .isInstanceOf(DecodeBudgetExceededException.class)
+                .hasMessage("Decode memory budget exhausted, could not reserve 1 bytes");
+        assertThat(budget.shed())
+                .isOne();
+        assertThat(budget.usedBytes())
+                .isEqualTo(100);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.leanish.sqs.codec.attributes.MessageAttributeUtils;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class EncodedMessageCacheTest {
+
+    private final AtomicInteger encodings = new AtomicInteger();
+    private final BiFunction<String, Map<String, MessageAttributeValue>, OutboundPlan.EncodedMessage> encoder = (body, attributes) -> {
+        encodings.incrementAndGet();
+        return new OutboundPlan.EncodedMessage(body.toUpperCase(), attributes);
+    };
+
+    @Test
+    void encode_reusesEncodedMessage() {
+        EncodedMessageCache cache = new EncodedMessageCache(2);
+        Map<String, MessageAttributeValue> attributes = Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+
+        OutboundPlan.EncodedMessage first = cache.encode("payload", attributes, encoder);
+        OutboundPlan.EncodedMessage second = cache.encode(new String("payload".toCharArray()), Map.copyOf(attributes), encoder);
+        OutboundPlan.EncodedMessage otherAttributes = cache.encode("payload", Map.of(), encoder);
+
+        assertThat(second)
+                .isSameAs(first);
+        assertThat(otherAttributes)
+                .isNotSameAs(first);
+        assertThat(encodings)
+                .hasValue(2);
+    }
+
+    @Test
+    void encode_evictsLeastRecentlyUsed() {
+        EncodedMessageCache cache = new EncodedMessageCache(2);
+
+        OutboundPlan.EncodedMessage first = cache.encode("first", Map.of(), encoder);
+        cache.encode("second", Map.of(), encoder);
+        cache.encode("first", Map.of(), encoder);
+        cache.encode("third", Map.of(), encoder);
+
+        assertThat(cache.size())
+                .isEqualTo(2);
+        assertThat(cache.encode("first", Map.of(), encoder))
+                .isSameAs(first);
+        assertThat(encodings)
+                .hasValue(3);
+        cache.encode("second", Map.of(), encoder);
+        assertThat(encodings)
+                .hasValue(4);
+    }
+}
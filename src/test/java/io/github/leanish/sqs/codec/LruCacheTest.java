@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+    @Test
+    void put_evictsLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.size())
+                .isEqualTo(2);
+        assertThat(cache.get("a"))
+                .isEqualTo(1);
+        assertThat(cache.get("b"))
+                .isNull();
+        assertThat(cache.get("c"))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void put_trimsTenthOfCapacityBeyondOverflow() {
+        LruCache<Integer, Integer> cache = new LruCache<>(20);
+        for (int i = 0; i < 21; i++) {
+            cache.put(i, i);
+        }
+
+        assertThat(cache.size())
+                .isEqualTo(18);
+        assertThat(cache.get(0))
+                .isNull();
+        assertThat(cache.get(2))
+                .isNull();
+        assertThat(cache.get(3))
+                .isEqualTo(3);
+        assertThat(cache.get(20))
+                .isEqualTo(20);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+class MessageEnvelopeTest {
+
+    @Test
+    void frame() {
+        assertThat(MessageEnvelope.frame(List.of("a", "", "b:c")))
+                .isEqualTo("1:a0:3:b:c");
+    }
+
+    @Test
+    void unframe() {
+        assertThat(MessageEnvelope.unframe("1:a0:3:b:c"))
+                .containsExactly("a", "", "b:c");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "1a", ":a", "x:a", "-1:a", "2:a"})
+    void unframe_malformed(String body) {
+        assertThatThrownBy(() -> MessageEnvelope.unframe(body))
+                .isInstanceOf(MalformedEnvelopeException.class);
+    }
+
+    @Test
+    void records_singleMessage() {
+        Message message = Message.builder()
+                .body("1:a")
+                .build();
+
+        assertThat(MessageEnvelope.isEnvelope(message))
+                .isFalse();
+        assertThat(MessageEnvelope.records(message))
+                .containsExactly("1:a");
+    }
+}
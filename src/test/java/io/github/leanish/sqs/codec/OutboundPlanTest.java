@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import io.github.leanish.sqs.codec.attributes.MessageAttributeUtils;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class OutboundPlanTest {
+
+    @Test
+    void encode_reusesConfAttribute() {
+        OutboundPlan plan = OutboundPlan.of(new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.NONE,
+                ChecksumAlgorithm.MD5));
+        Map<String, MessageAttributeValue> userAttributes = Map.of(
+                "shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+
+        OutboundPlan.EncodedMessage first = plan.encode("payload-1", userAttributes);
+        OutboundPlan.EncodedMessage second = plan.encode("payload-2", Map.of());
+
+        assertThat(plan.configuration().encodingAlgorithm())
+                .isEqualTo(EncodingAlgorithm.BASE64);
+        assertThat(first.attributes())
+                .containsEntry("shopId", MessageAttributeUtils.stringAttribute("shop-1"))
+                .containsEntry(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=zstd;e=base64;h=md5"))
+                .containsKeys(CodecAttributes.CHECKSUM, CodecAttributes.RAW_LENGTH);
+        assertThat(second.attributes().get(CodecAttributes.CONF))
+                .isSameAs(first.attributes().get(CodecAttributes.CONF));
+        assertThat(userAttributes)
+                .containsOnlyKeys("shopId");
+    }
+
+    @Test
+    void planFor_invalidCharacters() {
+        OutboundPlan plan = OutboundPlan.of(new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.NONE,
+                ChecksumAlgorithm.MD5));
+
+        OutboundPlan fallback = plan.planFor("bad\u0000body");
+
+        assertThat(plan.planFor("payload-42"))
+                .isSameAs(plan);
+        assertThat(fallback.configuration().encodingAlgorithm())
+                .isEqualTo(EncodingAlgorithm.BASE64);
+        assertThat(plan.planFor("other\u0001body"))
+                .isSameAs(fallback);
+        assertThat(fallback.encode("bad\u0000body", Map.of()).body())
+                .isEqualTo("YmFkAGJvZHk=");
+    }
+
+    @Test
+    void planFor_encodedBodiesNeedNoFallback() {
+        OutboundPlan plan = OutboundPlan.of(new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.NONE));
+
+        assertThat(plan.planFor("bad\u0000body"))
+                .isSameAs(plan);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+
+class ReceiveAttributeNamesTest {
+
+    @BeforeEach
+    void setUp() {
+        ReceiveAttributeNames.clearCachedLists();
+    }
+
+    @Test
+    void coversCodecAttributes_prefixWildcards() {
+        assertThat(ReceiveAttributeNames.coversCodecAttributes(List.of("x-.*")))
+                .isTrue();
+        assertThat(ReceiveAttributeNames.coversCodecAttributes(List.of("x-codec-.*", CodecAttributes.COMPACT)))
+                .isTrue();
+        assertThat(ReceiveAttributeNames.coversCodecAttributes(List.of("x-codec-.*")))
+                .isFalse();
+        assertThat(ReceiveAttributeNames.coversCodecAttributes(List.of("x-codec-conf.*", CodecAttributes.COMPACT)))
+                .isFalse();
+    }
+
+    @Test
+    void withCodecAttributes_cachesPerDistinctList() {
+        List<String> attributeNames = new ArrayList<>(List.of("shopId"));
+
+        List<String> first = ReceiveAttributeNames.withCodecAttributes(attributeNames);
+        attributeNames.add("tenant");
+        List<String> second = ReceiveAttributeNames.withCodecAttributes(List.of("shopId"));
+
+        assertThat(first)
+                .containsExactly("shopId", ReceiveAttributeNames.CODEC_WILDCARD);
+        assertThat(second)
+                .isSameAs(first);
+        assertThat(ReceiveAttributeNames.withCodecAttributes(attributeNames))
+                .containsExactly("shopId", "tenant", ReceiveAttributeNames.CODEC_WILDCARD);
+        assertThat(ReceiveAttributeNames.cachedLists())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void withCodecAttributes_concurrentPollsShareCachedList() {
+        List<String> cached = ReceiveAttributeNames.withCodecAttributes(List.of("shopId"));
+
+        List<List<String>> polled = IntStream.range(0, 1_000)
+                .parallel()
+                .mapToObj(i -> ReceiveAttributeNames.withCodecAttributes(List.of("shopId")))
+                .toList();
+
+        assertThat(polled)
+                .allMatch(list -> list == cached);
+        assertThat(ReceiveAttributeNames.cachedLists())
+                .isOne();
+    }
+
+    @Test
+    void withCodecAttributes_cacheIsBounded() {
+        for (int i = 0; i < ReceiveAttributeNames.MAX_CACHED_LISTS * 2; i++) {
+            ReceiveAttributeNames.withCodecAttributes(List.of("attribute-" + i));
+        }
+
+        assertThat(ReceiveAttributeNames.cachedLists())
+                .isPositive()
+                .isLessThanOrEqualTo(ReceiveAttributeNames.MAX_CACHED_LISTS);
+    }
+
+    @Test
+    void withCodecAttributes_cacheKeepsRecentLists() {
+        for (int i = 0; i < ReceiveAttributeNames.MAX_CACHED_LISTS * 2; i++) {
+            ReceiveAttributeNames.withCodecAttributes(List.of("attribute-" + i));
+        }
+        List<String> recent = List.of("shopId");
+
+        assertThat(ReceiveAttributeNames.withCodecAttributes(recent))
+                .isSameAs(ReceiveAttributeNames.withCodecAttributes(recent));
+    }
+}
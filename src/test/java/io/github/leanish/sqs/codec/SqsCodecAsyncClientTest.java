@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+class SqsCodecAsyncClientTest {
+
+    private static final String PAYLOAD = "{\"value\":42}";
+    private static final String CODEC_THREAD = "codec-worker";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, CODEC_THREAD));
+    private final SqsAsyncClient delegate = Mockito.mock(SqsAsyncClient.class);
+    private final SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+            .withCompressionAlgorithm(CompressionAlgorithm.ZSTD);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sendMessage_encodesOnExecutor() {
+        ArgumentCaptor<SendMessageRequest> sent = ArgumentCaptor.forClass(SendMessageRequest.class);
+        Mockito.when(delegate.sendMessage(ArgumentMatchers.any(SendMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    assertThat(Thread.currentThread().getName())
+                            .isEqualTo(CODEC_THREAD);
+                    return CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("id-1").build());
+                });
+
+        SendMessageResponse response = SqsCodecAsyncClient.wrap(delegate, interceptor, executor)
+                .sendMessage(builder -> builder.queueUrl("queue").messageBody(PAYLOAD))
+                .join();
+
+        Mockito.verify(delegate).sendMessage(sent.capture());
+        assertThat(response.messageId())
+                .isEqualTo("id-1");
+        assertThat(sent.getValue().messageBody())
+                .isNotEqualTo(PAYLOAD);
+        assertThat(sent.getValue().messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=zstd;e=base64;h=md5");
+    }
+
+    @Test
+    void sendMessage_codecOverride() {
+        ArgumentCaptor<SendMessageRequest> sent = ArgumentCaptor.forClass(SendMessageRequest.class);
+        Mockito.when(delegate.sendMessage(ArgumentMatchers.any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().build()));
+        SqsCodecInterceptor uncompressed = SqsCodecInterceptor.defaultInterceptor();
+
+        SqsCodecAsyncClient.wrap(delegate, interceptor, executor)
+                .sendMessage(builder -> builder
+                        .queueUrl("queue")
+                        .messageBody(PAYLOAD)
+                        .overrideConfiguration(configuration -> configuration
+                                .putExecutionAttribute(SqsCodecInterceptor.CODEC_OVERRIDE, uncompressed)))
+                .join();
+
+        Mockito.verify(delegate).sendMessage(sent.capture());
+        assertThat(sent.getValue().messageBody())
+                .isEqualTo(PAYLOAD);
+        assertThat(sent.getValue().messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=none;e=none;h=md5");
+    }
+
+    @Test
+    void sendMessage_rejectedByExecutorFailsFuture() {
+        RejectedExecutionException rejection = new RejectedExecutionException("saturated");
+        SqsCodecAsyncClient client = SqsCodecAsyncClient.wrap(delegate, interceptor, task -> {
+            throw rejection;
+        });
+
+        CompletableFuture<SendMessageResponse> response = client.sendMessage(builder -> builder.queueUrl("queue").messageBody(PAYLOAD));
+
+        assertThatThrownBy(response::join)
+                .hasCause(rejection);
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void batchManager_unsupported() {
+        SqsCodecAsyncClient client = SqsCodecAsyncClient.wrap(delegate, interceptor, executor);
+
+        assertThatThrownBy(client::batchManager)
+                .isInstanceOf(UnsupportedOperationException.class);
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void receiveMessage_decodesOnExecutor() {
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .build());
+        ArgumentCaptor<ReceiveMessageRequest> received = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        Mockito.when(delegate.receiveMessage(ArgumentMatchers.any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.supplyAsync(() -> ReceiveMessageResponse.builder()
+                        .messages(Message.builder()
+                                .body(encoded.messageBody())
+                                .messageAttributes(encoded.messageAttributes())
+                                .build())
+                        .build()));
+
+        ReceiveMessageResponse response = SqsCodecAsyncClient.wrap(delegate, SqsCodecInterceptor.defaultInterceptor(), executor)
+                .receiveMessage(ReceiveMessageRequest.builder().queueUrl("queue").build())
+                .join();
+
+        Mockito.verify(delegate).receiveMessage(received.capture());
+        assertThat(received.getValue().messageAttributeNames())
+                .isEqualTo(List.of(ReceiveAttributeNames.CODEC_WILDCARD));
+        assertThat(response.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+class SqsCodecBatchSenderTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/queue";
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SqsAsyncClient client = Mockito.mock(SqsAsyncClient.class);
+    private final SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor();
+    private final List<SendMessageBatchRequest> sent = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void send_flushesOnEntryCount() {
+        succeedAll();
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withLinger(Duration.ofHours(1)));
+
+        List<CompletableFuture<SendMessageBatchResultEntry>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(sender.send("message-" + i, Map.of()));
+        }
+
+        assertThat(sent)
+                .hasSize(1);
+        assertThat(sent.getFirst().entries())
+                .hasSize(10);
+        assertThat(futures)
+                .allMatch(CompletableFuture::isDone);
+        assertThat(futures.get(3).join().messageId())
+                .isEqualTo("message-id-3");
+    }
+
+    @Test
+    void send_flushesBeforeExceedingBatchBytes() {
+        succeedAll();
+        PreEncodedMessage message = interceptor.preEncode("x".repeat(100), Map.of());
+        int size = SqsCodecBatchSender.size(message);
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults()
+                .withLinger(Duration.ofHours(1))
+                .withMaxBatchBytes(size * 2 + 1));
+
+        sender.send(message);
+        sender.send(message);
+        assertThat(sent)
+                .isEmpty();
+
+        sender.send(message);
+        assertThat(sent)
+                .hasSize(1);
+        assertThat(sent.getFirst().entries())
+                .hasSize(2);
+    }
+
+    @Test
+    void send_tooLarge() {
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withMaxBatchBytes(10));
+
+        CompletableFuture<SendMessageBatchResultEntry> future = sender.send("x".repeat(100), Map.of());
+
+        assertThat(future)
+                .isCompletedExceptionally();
+        Mockito.verifyNoInteractions(client);
+    }
+
+    @Test
+    void send_retriesOnlyFailedEntriesAsEncoded() {
+        ArgumentCaptor<SendMessageBatchRequest> requests = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                        .successful(success("0"))
+                        .failed(failure("1", false))
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                        .successful(success("0"))
+                        .build()));
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults()
+                .withLinger(Duration.ofHours(1))
+                .withRetryBackoff(Duration.ofMillis(1)));
+
+        CompletableFuture<SendMessageBatchResultEntry> first = sender.send("first", Map.of());
+        CompletableFuture<SendMessageBatchResultEntry> second = sender.send("second", Map.of());
+        sender.flush();
+        second.orTimeout(5, TimeUnit.SECONDS).join();
+
+        Mockito.verify(client, Mockito.times(2)).sendMessageBatch(requests.capture());
+        SendMessageBatchRequestEntry retried = requests.getAllValues().get(1).entries().getFirst();
+        assertThat(requests.getAllValues().get(1).entries())
+                .hasSize(1);
+        assertThat(retried.messageBody())
+                .isEqualTo(requests.getAllValues().getFirst().entries().get(1).messageBody());
+        assertThat(retried.messageAttributes())
+                .isEqualTo(requests.getAllValues().getFirst().entries().get(1).messageAttributes());
+        assertThat(first)
+                .isCompleted();
+        assertThat(second)
+                .isCompleted();
+    }
+
+    @Test
+    void send_retryWaitsForBackoff() {
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                        .failed(failure("0", false))
+                        .build()));
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults()
+                .withLinger(Duration.ofHours(1))
+                .withRetryBackoff(Duration.ofHours(1)));
+
+        CompletableFuture<SendMessageBatchResultEntry> future = sender.send("message", Map.of());
+        sender.flush();
+
+        Mockito.verify(client).sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class));
+        assertThat(future)
+                .isNotDone();
+    }
+
+    @Test
+    void send_retryRejectedBySchedulerFailsEntry() {
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                        .failed(failure("0", false))
+                        .build()));
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withLinger(Duration.ofHours(1)));
+
+        CompletableFuture<SendMessageBatchResultEntry> future = sender.send("message", Map.of());
+        scheduler.shutdownNow();
+        sender.flush();
+
+        assertThat(future)
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    void create_fifoQueueRejected() {
+        assertThatThrownBy(() -> SqsCodecBatchSender.create(
+                client,
+                QUEUE_URL + ".fifo",
+                interceptor,
+                scheduler,
+                BatchSenderSettings.defaults()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("FIFO");
+    }
+
+    @Test
+    void send_clientThrowingFailsEntriesAndReleasesPermits() {
+        IllegalStateException failure = new IllegalStateException("client closed");
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenThrow(failure);
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults()
+                .withLinger(Duration.ofHours(1))
+                .withMaxPendingMessages(1));
+
+        CompletableFuture<SendMessageBatchResultEntry> first = sender.send("first", Map.of());
+        sender.flush();
+        CompletableFuture<SendMessageBatchResultEntry> second = sender.send("second", Map.of());
+        sender.flush();
+
+        assertThatThrownBy(first::join)
+                .hasCause(failure);
+        assertThat(second)
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    void send_lingerRejectedBySchedulerFailsEntry() {
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withMaxPendingMessages(1));
+        scheduler.shutdownNow();
+
+        CompletableFuture<SendMessageBatchResultEntry> first = sender.send("first", Map.of());
+        CompletableFuture<SendMessageBatchResultEntry> second = sender.send("second", Map.of());
+
+        assertThat(first)
+                .isCompletedExceptionally();
+        assertThat(second)
+                .isCompletedExceptionally();
+        Mockito.verifyNoInteractions(client);
+    }
+
+    @Test
+    void send_senderFaultNotRetried() {
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                        .failed(failure("0", true))
+                        .build()));
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withLinger(Duration.ofHours(1)));
+
+        CompletableFuture<SendMessageBatchResultEntry> future = sender.send("message", Map.of());
+        sender.flush();
+
+        Mockito.verify(client).sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class));
+        assertThat(future)
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    void send_flushesAfterLinger() {
+        succeedAll();
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withLinger(Duration.ofMillis(10)));
+
+        SendMessageBatchResultEntry result = sender.send("message", Map.of())
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+
+        assertThat(result.messageId())
+                .isEqualTo("message-id-0");
+    }
+
+    @Test
+    void close_flushesAndRejectsNewMessages() {
+        succeedAll();
+        SqsCodecBatchSender sender = sender(BatchSenderSettings.defaults().withLinger(Duration.ofHours(1)));
+
+        CompletableFuture<SendMessageBatchResultEntry> buffered = sender.send("message", Map.of());
+        sender.close();
+
+        assertThat(buffered)
+                .isCompleted();
+        assertThat(sender.send("late", Map.of()))
+                .isCompletedExceptionally();
+    }
+
+    private SqsCodecBatchSender sender(BatchSenderSettings settings) {
+        return SqsCodecBatchSender.create(client, QUEUE_URL, interceptor, scheduler, settings);
+    }
+
+    private void succeedAll() {
+        Mockito.when(client.sendMessageBatch(ArgumentMatchers.any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    SendMessageBatchRequest request = invocation.getArgument(0);
+                    synchronized (sent) {
+                        sent.add(request);
+                    }
+                    return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .map(entry -> success(entry.id()))
+                                    .toList())
+                            .build());
+                });
+    }
+
+    private static SendMessageBatchResultEntry success(String id) {
+        return SendMessageBatchResultEntry.builder()
+                .id(id)
+                .messageId("message-id-" + id)
+                .build();
+    }
+
+    private static BatchResultErrorEntry failure(String id, boolean senderFault) {
+        return BatchResultErrorEntry.builder()
+                .id(id)
+                .code(senderFault ? "InvalidParameterValue" : "InternalError")
+                .message("failed")
+                .senderFault(senderFault)
+                .build();
+    }
+}
@@ -11,11 +11,18 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -26,6 +33,7 @@ import org.mockito.Mockito;
 import org.reactivestreams.Publisher;
 
 import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
 import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
 import io.github.leanish.sqs.codec.algorithms.UnsupportedAlgorithmException;
@@ -36,6 +44,7 @@ import io.github.leanish.sqs.codec.attributes.CodecConfigurationAttributeHandler
 import io.github.leanish.sqs.codec.attributes.MessageAttributeUtils;
 import io.github.leanish.sqs.codec.attributes.PayloadChecksumAttributeHandler;
 import io.github.leanish.sqs.codec.attributes.PayloadRawLengthAttributeHandler;
+import io.github.leanish.sqs.codec.attributes.SqsMessageMd5;
 import io.github.leanish.sqs.codec.attributes.UnsupportedCodecConfigurationException;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
@@ -52,6 +61,7 @@ import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
 class SqsCodecInterceptorTest {
 
@@ -162,108 +172,956 @@ class SqsCodecInterceptorTest {
                 .isEqualTo("v=1;c=zstd;e=base64-std;h=md5");
     }
 
+    @Test
+    void modifyRequest_invalidCharactersFallbackToBase64() {
+        String payload = "{\"value\":\"\u0000\"}";
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(payload)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) SqsCodecInterceptor.defaultInterceptor()
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=none;e=base64;h=md5");
+        Codec codec = new Codec(CompressionAlgorithm.NONE, EncodingAlgorithm.BASE64);
+        assertThat(new String(codec.decode(encoded.messageBody().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))
+                .isEqualTo(payload);
+    }
+
+    @Test
+    void modifyRequest_unpairedSurrogateRejected() {
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody("{\"value\":\"\uD800\"}")
+                .build();
+
+        assertThatThrownBy(() -> SqsCodecInterceptor.defaultInterceptor()
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes()))
+                .isInstanceOf(InvalidPayloadException.class)
+                .hasMessage("Message body contains an unpaired surrogate");
+    }
+
+    @Test
+    void modifyRequest_questionMarkWithSurrogatePair() {
+        String payload = "{\"value\":\"?\uD83D\uDE00\"}";
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(payload)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.GZIP)
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(
+                        new ModifyResponseContext(ReceiveMessageResponse.builder()
+                                .messages(Message.builder()
+                                        .body(encoded.messageBody())
+                                        .messageAttributes(encoded.messageAttributes())
+                                        .build())
+                                .build()),
+                        new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(payload);
+    }
+
+    @Test
+    void modifyRequest_invalidCharactersKeepExplicitEncoding() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withEncodingAlgorithm(EncodingAlgorithm.BASE64_STD);
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .entries(SendMessageBatchRequestEntry.builder()
+                        .id("control")
+                        .messageBody("\u0001")
+                        .build())
+                .build();
+
+        SendMessageBatchRequest encoded = (SendMessageBatchRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(request),
+                new ExecutionAttributes());
+
+        assertThat(encoded.entries().getFirst().messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=none;e=base64-std;h=md5");
+    }
+
+    @Test
+    void modifyRequest_encodedChecksumScope() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withChecksumScope(ChecksumScope.ENCODED);
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;s=encoded");
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CHECKSUM).stringValue())
+                .isEqualTo(ChecksumAlgorithm.MD5.implementation().checksum(encoded.messageBody().getBytes(StandardCharsets.UTF_8)));
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void modifyRequest_compactAttributes() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withCompactAttributes(true);
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .messageAttributes(Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")))
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes())
+                .containsOnlyKeys("shopId", CodecAttributes.COMPACT);
+        assertThat(encoded.messageAttributes().get(CodecAttributes.COMPACT).dataType())
+                .isEqualTo("Binary");
+        assertThat(encoded.messageAttributes().get(CodecAttributes.COMPACT).binaryValue().asByteArray())
+                .startsWith(2, 1, 1, 1, 0, 0, 0, 0, PAYLOAD.length())
+                .hasSize(9 + 16);
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void modifyResponse_compactAttributesChecksumMismatch() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompactAttributes(true);
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder()
+                        .messageBody(PAYLOAD)
+                        .build()),
+                new ExecutionAttributes());
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body("tampered")
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+
+        assertThatThrownBy(() -> interceptor.modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(ChecksumValidationException.class);
+    }
+
+    @Test
+    void modifyRequest_binaryPayloadCarrier() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withBinaryPayloadCarrier(true);
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .messageAttributes(Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")))
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageBody())
+                .isEqualTo("-");
+        assertThat(encoded.messageAttributes())
+                .containsEntry(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=3;c=zstd;e=none;h=md5;p=attribute"))
+                .containsKey(CodecAttributes.PAYLOAD);
+        assertThat(encoded.messageAttributes().get(CodecAttributes.PAYLOAD).dataType())
+                .isEqualTo("Binary");
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThat(decoded.messages().getFirst().messageAttributes())
+                .containsKey("shopId")
+                .doesNotContainKey(CodecAttributes.PAYLOAD);
+    }
+
+    @Test
+    void modifyResponse_binaryPayloadCarrierMissingPayload() {
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body("-")
+                        .messageAttributes(Map.of(
+                                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=3;c=zstd;e=none;h=none;p=attribute")))
+                        .build())
+                .build();
+
+        assertThatThrownBy(() -> SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(UnsupportedCodecConfigurationException.class)
+                .hasMessage("Missing codec payload attribute: x-codec-payload");
+    }
+
+    @Test
+    void modifyRequest_bodyHeader() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withBodyHeader(true);
+        Map<String, MessageAttributeValue> userAttributes = Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .messageAttributes(userAttributes)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes())
+                .isEqualTo(userAttributes);
+        assertThat(encoded.messageBody())
+                .startsWith("~sqsc11110");
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .build())
+                .build();
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .withBodyHeader(true)
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThat(interceptor.modifyRequest(new ModifyRequestContext(encoded), new ExecutionAttributes()))
+                .isSameAs(encoded);
+    }
+
+    @Test
+    void modifyResponse_bodyHeaderIgnoredWhenDisabled() {
+        Message message = Message.builder()
+                .body("~sqsc10z00~not a codec message")
+                .build();
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(message)
+                .build();
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst())
+                .isSameAs(message);
+    }
+
+    @Test
+    void modifyRequest_bodyHeaderSkipsReceiveAttributes() {
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                .queueUrl("queue")
+                .build();
+
+        SdkRequest modified = SqsCodecInterceptor.defaultInterceptor()
+                .withBodyHeader(true)
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(modified)
+                .isSameAs(request);
+    }
+
+    @Test
+    void modifyResponse_bodyHeaderChecksumMismatch() {
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body("~sqsc10010" + ChecksumAlgorithm.MD5.implementation().checksum(new byte[0]) + "~" + PAYLOAD)
+                        .build())
+                .build();
+
+        assertThatThrownBy(() -> SqsCodecInterceptor.defaultInterceptor()
+                .withBodyHeader(true)
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(ChecksumValidationException.class);
+    }
+
+    @Test
+    void modifyRequest_compressesLargeAttributes() {
+        String largeJson = "{\"items\":[" + "{\"sku\":\"sku-1\"},".repeat(50) + "{}]}";
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withAttributeCompressionThreshold(256);
+        Map<String, MessageAttributeValue> userAttributes = Map.of(
+                "cart", MessageAttributeUtils.stringAttribute(largeJson),
+                "shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .messageAttributes(userAttributes)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;a=cart");
+        assertThat(encoded.messageAttributes().get("cart").dataType())
+                .isEqualTo("Binary.String");
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThat(decoded.messages().getFirst().messageAttributes())
+                .containsAllEntriesOf(userAttributes);
+    }
+
     @Test
     void modifyRequest_unknownRequests() {
         SdkRequest request = Mockito.mock(SdkRequest.class);
 
-        SdkRequest modified = SqsCodecInterceptor.defaultInterceptor()
-                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+        SdkRequest modified = SqsCodecInterceptor.defaultInterceptor()
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(modified)
+                .isSameAs(request);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("receiveMessageAttributeCases")
+    void modifyRequest_receiveMessageAttributes(
+            String scenario,
+            List<String> attributeNames,
+            boolean expectSameInstance,
+            List<String> expectedAttributeNames) {
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+                .queueUrl("queue")
+                .messageAttributeNames(attributeNames)
+                .build();
+
+        SdkRequest modified = SqsCodecInterceptor.defaultInterceptor()
+                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        if (expectSameInstance) {
+            assertThat(modified).isSameAs(request);
+        }
+        assertThat(modified).isInstanceOf(ReceiveMessageRequest.class);
+        ReceiveMessageRequest updated = (ReceiveMessageRequest) modified;
+        assertThat(updated.messageAttributeNames())
+                .containsExactlyInAnyOrderElementsOf(expectedAttributeNames);
+    }
+
+    @Test
+    void modifyRequest_noChecksum() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withChecksumAlgorithm(ChecksumAlgorithm.NONE);
+        SendMessageRequest request = SendMessageRequest.builder()
+                .messageBody(PAYLOAD)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageBody()).isEqualTo(PAYLOAD);
+        assertThat(encoded.messageAttributes())
+                .containsKeys(
+                        CodecAttributes.CONF,
+                        CodecAttributes.RAW_LENGTH);
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=none;e=none;h=none");
+        assertThat(encoded.messageAttributes())
+                .doesNotContainKeys(CodecAttributes.CHECKSUM);
+    }
+
+    @Test
+    void modifyRequest_batch() {
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .entries(
+                        SendMessageBatchRequestEntry.builder()
+                                .id("encoded")
+                                .messageBody(PAYLOAD)
+                                .messageAttributes(Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")))
+                                .build(),
+                        SendMessageBatchRequestEntry.builder()
+                                .id("skipped")
+                                .messageBody("skip")
+                                .messageAttributes(Map.of(
+                                        CodecAttributes.CONF,
+                                        MessageAttributeUtils.stringAttribute("v=1;c=zstd;e=base64;h=md5")))
+                                .build())
+                .build();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withEncodingAlgorithm(EncodingAlgorithm.NONE);
+
+        SdkRequest modified = interceptor.modifyRequest(
+                new ModifyRequestContext(request),
+                new ExecutionAttributes());
+
+        SendMessageBatchRequest encoded = (SendMessageBatchRequest) modified;
+        SendMessageBatchRequestEntry encodedEntry = encoded.entries().stream()
+                .filter(entry -> "encoded".equals(entry.id()))
+                .findFirst()
+                .orElseThrow();
+        SendMessageBatchRequestEntry skippedEntry = encoded.entries().stream()
+                .filter(entry -> "skipped".equals(entry.id()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(encodedEntry.messageAttributes())
+                .containsKeys(
+                        CodecAttributes.CONF,
+                        CodecAttributes.CHECKSUM,
+                        CodecAttributes.RAW_LENGTH);
+        assertThat(encodedEntry.messageBody()).isNotEqualTo(PAYLOAD);
+        Codec codec = new Codec(CompressionAlgorithm.ZSTD, EncodingAlgorithm.NONE);
+        assertThat(new String(codec.decode(encodedEntry.messageBody().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))
+                .isEqualTo(PAYLOAD);
+        assertThat(skippedEntry)
+                .isSameAs(request.entries().get(1));
+    }
+
+    @Test
+    void modifyRequest_batchEncodedInParallel() {
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withEncodingExecutor(executor)
+                .withParallelEncodingThreshold(0);
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .entries(IntStream.range(0, 10)
+                        .mapToObj(i -> SendMessageBatchRequestEntry.builder()
+                                .id("entry-" + i)
+                                .messageBody(PAYLOAD + i)
+                                .build())
+                        .toList())
+                .build();
+
+        SendMessageBatchRequest encoded = (SendMessageBatchRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(request),
+                new ExecutionAttributes());
+
+        // the calling thread encodes one entry instead of only waiting on the executor
+        assertThat(tasks)
+                .hasValue(9);
+        Codec codec = new Codec(CompressionAlgorithm.ZSTD, EncodingAlgorithm.BASE64);
+        for (int i = 0; i < 10; i++) {
+            SendMessageBatchRequestEntry entry = encoded.entries().get(i);
+            assertThat(entry.id())
+                    .isEqualTo("entry-" + i);
+            assertThat(new String(codec.decode(entry.messageBody().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))
+                    .isEqualTo(PAYLOAD + i);
+        }
+    }
+
+    @Test
+    void modifyRequest_smallBatchEncodedSequentially() {
+        Executor executor = task -> {
+            throw new AssertionError("small batches must not be submitted");
+        };
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withEncodingExecutor(executor)
+                .withParallelEncodingThreshold(PAYLOAD.length() * 2 + 1);
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .entries(
+                        SendMessageBatchRequestEntry.builder().id("1").messageBody(PAYLOAD).build(),
+                        SendMessageBatchRequestEntry.builder().id("2").messageBody(PAYLOAD).build())
+                .build();
+
+        SendMessageBatchRequest encoded = (SendMessageBatchRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(request),
+                new ExecutionAttributes());
+
+        assertThat(encoded.entries())
+                .extracting(SendMessageBatchRequestEntry::messageBody)
+                .containsExactly(PAYLOAD, PAYLOAD);
+    }
+
+    @Test
+    void modifyRequest_batchEncodedInParallelRethrowsFirstFailure() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withEncodingExecutor(task -> new Thread(task).start())
+                .withParallelEncodingThreshold(0);
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .entries(
+                        SendMessageBatchRequestEntry.builder().id("1").messageBody(PAYLOAD).build(),
+                        SendMessageBatchRequestEntry.builder()
+                                .id("2")
+                                .messageBody(PAYLOAD)
+                                .messageAttributes(Map.of(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=brotli")))
+                                .build(),
+                        SendMessageBatchRequestEntry.builder()
+                                .id("3")
+                                .messageBody(PAYLOAD)
+                                .messageAttributes(Map.of(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=9")))
+                                .build())
+                .build();
+
+        assertThatThrownBy(() -> interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes()))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload compression: brotli");
+    }
+
+    @Test
+    void modifyResponse_largeMessagesDecodedInParallel() {
+        SqsCodecInterceptor encoder = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withEncodingAlgorithm(EncodingAlgorithm.NONE);
+        String large = new Random(42).ints(20_000, 'a', 'z' + 1)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+        List<String> payloads = List.of(PAYLOAD, large, PAYLOAD + 1, large + 2);
+        List<Message> messages = payloads.stream()
+                .map(payload -> {
+                    SendMessageRequest encoded = (SendMessageRequest) encoder.modifyRequest(
+                            new ModifyRequestContext(SendMessageRequest.builder().messageBody(payload).build()),
+                            new ExecutionAttributes());
+                    return Message.builder()
+                            .body(encoded.messageBody())
+                            .messageAttributes(encoded.messageAttributes())
+                            .build();
+                })
+                .toList();
+        List<Thread> decodingThreads = new CopyOnWriteArrayList<>();
+        Executor executor = task -> {
+            Thread thread = new Thread(task);
+            decodingThreads.add(thread);
+            thread.start();
+        };
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodingExecutor(executor)
+                .withParallelDecodingThreshold(10_000);
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(ReceiveMessageResponse.builder().messages(messages).build()),
+                new ExecutionAttributes());
+
+        assertThat(decoded.messages())
+                .extracting(Message::body)
+                .containsExactlyElementsOf(payloads);
+        assertThat(decodingThreads)
+                .hasSize(2);
+    }
+
+    @Test
+    void modifyResponse_carriedPayloadWeighedForParallelDecoding() {
+        String largePayload = "x".repeat(20_000);
+        SendMessageRequest carried = (SendMessageRequest) SqsCodecInterceptor.defaultInterceptor()
+                .withBinaryPayloadCarrier(true)
+                .modifyRequest(
+                        new ModifyRequestContext(SendMessageRequest.builder().messageBody(largePayload).build()),
+                        new ExecutionAttributes());
+        List<Thread> decodingThreads = new CopyOnWriteArrayList<>();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodingExecutor(task -> {
+                    Thread thread = new Thread(task);
+                    decodingThreads.add(thread);
+                    thread.start();
+                })
+                .withParallelDecodingThreshold(10_000);
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(
+                        Message.builder()
+                                .body(carried.messageBody())
+                                .messageAttributes(carried.messageAttributes())
+                                .build(),
+                        Message.builder()
+                                .body(PAYLOAD)
+                                .build())
+                .build();
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(response),
+                new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(largePayload);
+        assertThat(decodingThreads)
+                .hasSize(1);
+    }
+
+    @Test
+    void modifyResponse_decodedInParallelRethrowsFirstFailure() {
+        Message invalidCompression = Message.builder()
+                .body(PAYLOAD)
+                .messageAttributes(Map.of(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=brotli")))
+                .build();
+        Message invalidVersion = Message.builder()
+                .body(PAYLOAD)
+                .messageAttributes(Map.of(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=9")))
+                .build();
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder().body(PAYLOAD).build(), invalidCompression, invalidVersion)
+                .build();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodingExecutor(task -> new Thread(task).start())
+                .withParallelDecodingThreshold(0);
+
+        assertThatThrownBy(() -> interceptor.modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload compression: brotli");
+    }
+
+    @Test
+    void modifyResponse_decodeMemoryBudget() {
+        SqsCodecInterceptor encoder = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD);
+        SendMessageRequest encoded = (SendMessageRequest) encoder.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().messageBody(PAYLOAD).build()),
+                new ExecutionAttributes());
+        DecodeMemoryBudget budget = DecodeMemoryBudget.shedding(1024, Duration.ZERO);
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodeMemoryBudget(budget);
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(encoded.messageAttributes())
+                        .build())
+                .build();
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(response),
+                new ExecutionAttributes());
+        long reserved = budget.acquire(1024);
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThatThrownBy(() -> interceptor.modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(DecodeBudgetExceededException.class);
+        budget.release(reserved);
+        assertThat(budget.usedBytes())
+                .isZero();
+    }
+
+    @Test
+    void modifyResponse_hugeRawLengthReservesWholeBudget() {
+        SqsCodecInterceptor encoder = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD);
+        SendMessageRequest encoded = (SendMessageRequest) encoder.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().messageBody(PAYLOAD).build()),
+                new ExecutionAttributes());
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(encoded.messageAttributes());
+        attributes.put(CodecAttributes.RAW_LENGTH, MessageAttributeValue.builder()
+                .dataType("Number")
+                .stringValue(Long.toString(Long.MAX_VALUE))
+                .build());
+        DecodeMemoryBudget budget = DecodeMemoryBudget.shedding(1024, Duration.ZERO);
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodeMemoryBudget(budget);
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(encoded.messageBody())
+                        .messageAttributes(attributes)
+                        .build())
+                .build();
+        long reserved = budget.acquire(1);
+
+        assertThatThrownBy(() -> interceptor.modifyResponse(new ModifyResponseContext(response), new ExecutionAttributes()))
+                .isInstanceOf(DecodeBudgetExceededException.class);
+        budget.release(reserved);
+        assertThat(budget.usedBytes())
+                .isZero();
+    }
+
+    @Test
+    void modifyResponse_isolatesDecodeFailures() {
+        SqsCodecInterceptor encoder = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD);
+        SendMessageRequest encoded = (SendMessageRequest) encoder.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().messageBody(PAYLOAD).build()),
+                new ExecutionAttributes());
+        Message poison = Message.builder()
+                .messageId("poison")
+                .body(PAYLOAD)
+                .messageAttributes(Map.of(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=brotli")))
+                .build();
+        Message valid = Message.builder()
+                .messageId("valid")
+                .body(encoded.messageBody())
+                .messageAttributes(encoded.messageAttributes())
+                .build();
+        Map<String, RuntimeException> failures = new HashMap<>();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withDecodeFailureHandler((message, exception) -> failures.put(message.messageId(), exception));
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(ReceiveMessageResponse.builder().messages(poison, valid).build()),
+                new ExecutionAttributes());
 
-        assertThat(modified)
+        assertThat(failures)
+                .containsOnlyKeys("poison");
+        assertThat(failures.get("poison"))
+                .isInstanceOf(UnsupportedAlgorithmException.class);
+        Message delivered = decoded.messages().getFirst();
+        assertThat(delivered.body())
+                .isEqualTo(PAYLOAD);
+        assertThat(delivered.messageAttributes())
+                .containsEntry(CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=brotli"))
+                .containsEntry(
+                        CodecAttributes.ERROR,
+                        MessageAttributeUtils.stringAttribute("UnsupportedAlgorithmException: Unsupported payload compression: brotli"));
+        assertThat(decoded.messages().get(1).body())
+                .isEqualTo(PAYLOAD);
+        assertThat(decoded.messages().get(1).messageAttributes())
+                .doesNotContainKey(CodecAttributes.ERROR);
+    }
+
+    @Test
+    void preEncode_fanOut() {
+        PreEncodedMessage preEncoded = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .preEncode(PAYLOAD, Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")));
+        SqsCodecInterceptor sender = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.GZIP);
+
+        for (String queueUrl : List.of("tenant-1", "tenant-2")) {
+            SendMessageRequest request = preEncoded.applyTo(SendMessageRequest.builder().queueUrl(queueUrl))
+                    .build();
+
+            assertThat(sender.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes()))
+                    .isSameAs(request);
+        }
+        SendMessageBatchRequest batch = SendMessageBatchRequest.builder()
+                .entries(preEncoded.applyTo(SendMessageBatchRequestEntry.builder().id("1")).build())
+                .build();
+        SendMessageBatchRequest sentBatch = (SendMessageBatchRequest) sender.modifyRequest(new ModifyRequestContext(batch), new ExecutionAttributes());
+
+        assertThat(sentBatch.entries().getFirst())
+                .isSameAs(batch.entries().getFirst());
+        assertThat(preEncoded.messageAttributes())
+                .containsKeys("shopId", CodecAttributes.CONF, CodecAttributes.CHECKSUM, CodecAttributes.RAW_LENGTH);
+        assertThat(preEncoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=zstd;e=base64;h=md5");
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(
+                        new ModifyResponseContext(ReceiveMessageResponse.builder()
+                                .messages(Message.builder()
+                                        .body(preEncoded.body())
+                                        .messageAttributes(preEncoded.messageAttributes())
+                                        .build())
+                                .build()),
+                        new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void preEncode_bodyHeaderSentAsIsWithoutHeaderSupport() {
+        PreEncodedMessage preEncoded = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withBodyHeader(true)
+                .preEncode(PAYLOAD, Map.of());
+        SqsCodecInterceptor sender = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD);
+        SendMessageRequest request = preEncoded.applyTo(SendMessageRequest.builder().queueUrl("queue"))
+                .build();
+        SendMessageBatchRequest batch = PreEncodedMessage.markPreEncoded(SendMessageBatchRequest.builder()
+                        .entries(preEncoded.applyTo(SendMessageBatchRequestEntry.builder().id("1")).build()))
+                .build();
+
+        assertThat(preEncoded.messageAttributes())
+                .isEmpty();
+        assertThat(sender.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes()))
                 .isSameAs(request);
+        assertThat(sender.modifyRequest(new ModifyRequestContext(batch), new ExecutionAttributes()))
+                .isSameAs(batch);
     }
 
-    @ParameterizedTest(name = "{0}")
-    @MethodSource("receiveMessageAttributeCases")
-    void modifyRequest_receiveMessageAttributes(
-            String scenario,
-            List<String> attributeNames,
-            boolean expectSameInstance,
-            List<String> expectedAttributeNames) {
-        ReceiveMessageRequest request = ReceiveMessageRequest.builder()
-                .queueUrl("queue")
-                .messageAttributeNames(attributeNames)
+    @Test
+    void preEncode_applyToKeepsOverrideConfiguration() {
+        PreEncodedMessage preEncoded = SqsCodecInterceptor.defaultInterceptor()
+                .preEncode(PAYLOAD, Map.of());
+        SqsCodecInterceptor uncompressed = SqsCodecInterceptor.defaultInterceptor();
+
+        SendMessageRequest request = preEncoded.applyTo(SendMessageRequest.builder()
+                        .overrideConfiguration(configuration -> configuration
+                                .putExecutionAttribute(SqsCodecInterceptor.CODEC_OVERRIDE, uncompressed)))
                 .build();
 
-        SdkRequest modified = SqsCodecInterceptor.defaultInterceptor()
-                .modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+        assertThat(request.overrideConfiguration().orElseThrow().executionAttributes().getAttribute(SqsCodecInterceptor.CODEC_OVERRIDE))
+                .isSameAs(uncompressed);
+        assertThat(request.overrideConfiguration().orElseThrow().executionAttributes().getAttribute(SqsCodecInterceptor.PRE_ENCODED))
+                .isTrue();
+    }
 
-        if (expectSameInstance) {
-            assertThat(modified).isSameAs(request);
-        }
-        assertThat(modified).isInstanceOf(ReceiveMessageRequest.class);
-        ReceiveMessageRequest updated = (ReceiveMessageRequest) modified;
-        assertThat(updated.messageAttributeNames())
-                .containsExactlyInAnyOrderElementsOf(expectedAttributeNames);
+    @Test
+    void preEncodeEnvelope_roundTrip() {
+        List<String> records = List.of(PAYLOAD, "", "{\"value\":43}", "ünïcødé:1");
+        PreEncodedMessage envelope = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withCompactAttributes(true)
+                .preEncodeEnvelope(records, Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")));
+
+        assertThat(envelope.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;f=envelope");
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) SqsCodecInterceptor.defaultInterceptor()
+                .modifyResponse(
+                        new ModifyResponseContext(ReceiveMessageResponse.builder()
+                                .messages(Message.builder()
+                                        .body(envelope.body())
+                                        .messageAttributes(envelope.messageAttributes())
+                                        .build())
+                                .build()),
+                        new ExecutionAttributes());
+
+        Message message = decoded.messages().getFirst();
+        assertThat(MessageEnvelope.isEnvelope(message))
+                .isTrue();
+        assertThat(MessageEnvelope.records(message))
+                .isEqualTo(records);
+        assertThat(message.messageAttributes().get("shopId").stringValue())
+                .isEqualTo("shop-1");
     }
 
     @Test
-    void modifyRequest_noChecksum() {
+    void modifyRequest_encodedMessageCache() {
         SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
-                .withChecksumAlgorithm(ChecksumAlgorithm.NONE);
+                .withCompressionAlgorithm(CompressionAlgorithm.GZIP)
+                .withEncodedMessageCacheSize(16);
+        Map<String, MessageAttributeValue> userAttributes = Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+
+        SendMessageRequest first = (SendMessageRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().queueUrl("tenant-1").messageBody(PAYLOAD).messageAttributes(userAttributes).build()),
+                new ExecutionAttributes());
+        SendMessageRequest second = (SendMessageRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().queueUrl("tenant-2").messageBody(PAYLOAD).messageAttributes(userAttributes).build()),
+                new ExecutionAttributes());
+        SendMessageRequest uncached = (SendMessageRequest) SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.GZIP)
+                .modifyRequest(
+                        new ModifyRequestContext(SendMessageRequest.builder().messageBody(PAYLOAD).messageAttributes(userAttributes).build()),
+                        new ExecutionAttributes());
+
+        assertThat(second.messageBody())
+                .isSameAs(first.messageBody())
+                .isEqualTo(uncached.messageBody());
+        assertThat(second.messageAttributes())
+                .isEqualTo(first.messageAttributes())
+                .isEqualTo(uncached.messageAttributes());
+        assertThat(second.queueUrl())
+                .isEqualTo("tenant-2");
+    }
+
+    @Test
+    void modifyRequest_codecOverride() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withQueueCodecInterceptors(Map.of("orders", SqsCodecInterceptor.defaultInterceptor()
+                        .withCompressionAlgorithm(CompressionAlgorithm.GZIP)));
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(SqsCodecInterceptor.CODEC_OVERRIDE, SqsCodecInterceptor.defaultInterceptor()
+                .withChecksumAlgorithm(ChecksumAlgorithm.NONE));
         SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl("orders")
                 .messageBody(PAYLOAD)
                 .build();
 
-        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+        SendMessageRequest overridden = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), executionAttributes);
+        SendMessageRequest regular = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
 
-        assertThat(encoded.messageBody()).isEqualTo(PAYLOAD);
-        assertThat(encoded.messageAttributes())
-                .containsKeys(
-                        CodecAttributes.CONF,
-                        CodecAttributes.RAW_LENGTH);
-        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+        assertThat(overridden.messageBody())
+                .isEqualTo(PAYLOAD);
+        assertThat(overridden.messageAttributes().get(CodecAttributes.CONF).stringValue())
                 .isEqualTo("v=1;c=none;e=none;h=none");
-        assertThat(encoded.messageAttributes())
-                .doesNotContainKeys(CodecAttributes.CHECKSUM);
+        assertThat(regular.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=gzip;e=base64;h=md5");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queueCodecCases")
+    void modifyRequest_queueCodecInterceptors(String queueUrl, String expectedConf) {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withQueueCodecInterceptors(Map.of(
+                        "orders-*", SqsCodecInterceptor.defaultInterceptor()
+                                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD),
+                        "orders-audit*", SqsCodecInterceptor.defaultInterceptor()
+                                .withCompressionAlgorithm(CompressionAlgorithm.GZIP),
+                        "https://sqs.us-east-1.amazonaws.com/123456789012/orders-bulk", SqsCodecInterceptor.defaultInterceptor()
+                                .withChecksumAlgorithm(ChecksumAlgorithm.CRC32C),
+                        "events", SqsCodecInterceptor.defaultInterceptor()
+                                .withChecksumAlgorithm(ChecksumAlgorithm.NONE)));
+        SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(PAYLOAD)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(
+                    new ModifyRequestContext(request),
+                    new ExecutionAttributes());
+
+            assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                    .isEqualTo(expectedConf);
+        }
     }
 
     @Test
-    void modifyRequest_batch() {
+    void modifyRequest_queueCodecInterceptorsForBatch() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withQueueCodecInterceptors(Map.of("orders", SqsCodecInterceptor.defaultInterceptor()
+                        .withCompressionAlgorithm(CompressionAlgorithm.SNAPPY)));
         SendMessageBatchRequest request = SendMessageBatchRequest.builder()
-                .entries(
-                        SendMessageBatchRequestEntry.builder()
-                                .id("encoded")
-                                .messageBody(PAYLOAD)
-                                .messageAttributes(Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")))
-                                .build(),
-                        SendMessageBatchRequestEntry.builder()
-                                .id("skipped")
-                                .messageBody("skip")
-                                .messageAttributes(Map.of(
-                                        CodecAttributes.CONF,
-                                        MessageAttributeUtils.stringAttribute("v=1;c=zstd;e=base64;h=md5")))
-                                .build())
+                .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/orders")
+                .entries(SendMessageBatchRequestEntry.builder().id("1").messageBody(PAYLOAD).build())
                 .build();
-        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
-                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
-                .withEncodingAlgorithm(EncodingAlgorithm.NONE);
 
-        SdkRequest modified = interceptor.modifyRequest(
+        SendMessageBatchRequest encoded = (SendMessageBatchRequest) interceptor.modifyRequest(
                 new ModifyRequestContext(request),
                 new ExecutionAttributes());
 
-        SendMessageBatchRequest encoded = (SendMessageBatchRequest) modified;
-        SendMessageBatchRequestEntry encodedEntry = encoded.entries().stream()
-                .filter(entry -> "encoded".equals(entry.id()))
-                .findFirst()
-                .orElseThrow();
-        SendMessageBatchRequestEntry skippedEntry = encoded.entries().stream()
-                .filter(entry -> "skipped".equals(entry.id()))
-                .findFirst()
-                .orElseThrow();
+        assertThat(encoded.entries().getFirst().messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=snappy;e=base64;h=md5");
+    }
 
-        assertThat(encodedEntry.messageAttributes())
-                .containsKeys(
-                        CodecAttributes.CONF,
-                        CodecAttributes.CHECKSUM,
-                        CodecAttributes.RAW_LENGTH);
-        assertThat(encodedEntry.messageBody()).isNotEqualTo(PAYLOAD);
-        Codec codec = new Codec(CompressionAlgorithm.ZSTD, EncodingAlgorithm.NONE);
-        assertThat(new String(codec.decode(encodedEntry.messageBody().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))
-                .isEqualTo(PAYLOAD);
-        assertThat(skippedEntry)
-                .isSameAs(request.entries().get(1));
+    @Test
+    void withQueueCodecInterceptors_copiesMap() {
+        Map<String, SqsCodecInterceptor> queueCodecs = new HashMap<>();
+        queueCodecs.put("orders", SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.SNAPPY));
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withQueueCodecInterceptors(queueCodecs);
+        queueCodecs.clear();
+        SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/orders")
+                .messageBody(PAYLOAD)
+                .build();
+
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(new ModifyRequestContext(request), new ExecutionAttributes());
+
+        assertThat(encoded.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=snappy;e=base64;h=md5");
+    }
+
+    private static Stream<Arguments> queueCodecCases() {
+        String prefix = "https://sqs.us-east-1.amazonaws.com/123456789012/";
+        return Stream.of(
+                Arguments.of(prefix + "orders-bulk", "v=1;c=none;e=none;h=crc32c"),
+                Arguments.of(prefix + "orders-created", "v=1;c=zstd;e=base64;h=md5"),
+                Arguments.of(prefix + "orders-audit-eu", "v=1;c=gzip;e=base64;h=md5"),
+                Arguments.of(prefix + "events", "v=1;c=none;e=none;h=none"),
+                Arguments.of("orders-created", "v=1;c=zstd;e=base64;h=md5"),
+                Arguments.of(prefix + "payments", "v=1;c=none;e=none;h=md5"));
     }
 
     @ParameterizedTest(name = "message={0}/{1}, interceptor={2}/{3}")
@@ -657,6 +1515,161 @@ class SqsCodecInterceptorTest {
                 .hasMessage("Invalid base64 payload");
     }
 
+    @Test
+    void modifyResponse_encodedChecksumScopeRejectsBeforeDecoding() {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        attributes.put(CodecAttributes.CONF,
+                MessageAttributeUtils.stringAttribute("v=3;c=zstd;e=base64;h=md5;s=encoded"));
+        attributes.put(CodecAttributes.CHECKSUM, MessageAttributeUtils.stringAttribute(
+                ChecksumAlgorithm.MD5.implementation().checksum("original".getBytes(StandardCharsets.UTF_8))));
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body("!!")
+                        .messageAttributes(attributes)
+                        .build())
+                .build();
+
+        // a checksum mismatch rather than InvalidPayloadException proves decoding never started
+        assertThatThrownBy(() -> SqsCodecInterceptor.defaultInterceptor().modifyResponse(
+                new ModifyResponseContext(response),
+                new ExecutionAttributes()))
+                .isInstanceOf(ChecksumValidationException.class)
+                .hasMessage("Payload checksum mismatch");
+    }
+
+    @Test
+    void modifyResponse_neverVerifyChecksum() {
+        Map<String, MessageAttributeValue> attributes = codecAttributes(
+                PAYLOAD.getBytes(StandardCharsets.UTF_8),
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5);
+        attributes.put(CodecAttributes.CHECKSUM, MessageAttributeUtils.stringAttribute("bad"));
+        Codec codec = new Codec(CompressionAlgorithm.NONE, EncodingAlgorithm.BASE64);
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(new String(codec.encode(PAYLOAD.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))
+                        .messageAttributes(attributes)
+                        .build())
+                .build();
+        ChecksumVerificationPolicy policy = ChecksumVerificationPolicy.never();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withChecksumVerificationPolicy(policy);
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(response),
+                new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThat(policy.skippedVerifications())
+                .isEqualTo(1);
+        assertThat(policy.verifications())
+                .isZero();
+    }
+
+    @Test
+    void modifyResponse_perQueueChecksumVerificationPolicy() {
+        Map<String, MessageAttributeValue> attributes = codecAttributes(
+                PAYLOAD.getBytes(StandardCharsets.UTF_8),
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.NONE,
+                ChecksumAlgorithm.MD5);
+        attributes.put(CodecAttributes.CHECKSUM, MessageAttributeUtils.stringAttribute("bad"));
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .body(PAYLOAD)
+                        .messageAttributes(attributes)
+                        .build())
+                .build();
+        ChecksumVerificationPolicy trustedPolicy = ChecksumVerificationPolicy.never();
+        ChecksumVerificationPolicy defaultPolicy = ChecksumVerificationPolicy.always();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withChecksumVerificationPolicy(defaultPolicy)
+                .withQueueChecksumVerificationPolicies(Map.of("trusted", trustedPolicy));
+        ReceiveMessageRequest trustedRequest = ReceiveMessageRequest.builder()
+                .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/trusted")
+                .build();
+        ReceiveMessageRequest otherRequest = ReceiveMessageRequest.builder()
+                .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/other")
+                .build();
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(response, trustedRequest),
+                new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst().body())
+                .isEqualTo(PAYLOAD);
+        assertThatThrownBy(() -> interceptor.modifyResponse(
+                new ModifyResponseContext(response, otherRequest),
+                new ExecutionAttributes()))
+                .isInstanceOf(ChecksumValidationException.class)
+                .hasMessage("Payload checksum mismatch");
+        assertThat(trustedPolicy.skippedVerifications())
+                .isEqualTo(1);
+        assertThat(defaultPolicy.verifications())
+                .isEqualTo(1);
+        assertThat(defaultPolicy.mismatches())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void modifyResponse_serviceChecksumValidation() {
+        byte[] payloadBytes = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        Map<String, MessageAttributeValue> attributes = codecAttributes(
+                payloadBytes,
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.NONE,
+                ChecksumAlgorithm.MD5);
+        Message message = Message.builder()
+                .body(PAYLOAD)
+                .md5OfBody(HexFormat.of().formatHex(SqsMessageMd5.bodyDigest(payloadBytes)))
+                .messageAttributes(attributes)
+                .build();
+        Message corrupted = message.toBuilder()
+                .md5OfBody(HexFormat.of().formatHex(SqsMessageMd5.bodyDigest("other".getBytes(StandardCharsets.UTF_8))))
+                .build();
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withServiceChecksumValidation(true);
+
+        ReceiveMessageResponse decoded = (ReceiveMessageResponse) interceptor.modifyResponse(
+                new ModifyResponseContext(ReceiveMessageResponse.builder().messages(message).build()),
+                new ExecutionAttributes());
+
+        assertThat(decoded.messages().getFirst())
+                .isSameAs(message);
+        assertThatThrownBy(() -> interceptor.modifyResponse(
+                new ModifyResponseContext(ReceiveMessageResponse.builder().messages(corrupted).build()),
+                new ExecutionAttributes()))
+                .isInstanceOfSatisfying(ChecksumValidationException.class, exception -> {
+                    assertThat(exception.detail()).isEqualTo(SqsMessageMd5.BODY);
+                });
+    }
+
+    @Test
+    void modifyResponse_serviceChecksumValidationOnSend() {
+        SqsCodecInterceptor interceptor = SqsCodecInterceptor.defaultInterceptor()
+                .withCompressionAlgorithm(CompressionAlgorithm.ZSTD)
+                .withServiceChecksumValidation(true);
+        SendMessageRequest encoded = (SendMessageRequest) interceptor.modifyRequest(
+                new ModifyRequestContext(SendMessageRequest.builder().messageBody(PAYLOAD).build()),
+                new ExecutionAttributes());
+        SendMessageResponse response = SendMessageResponse.builder()
+                .md5OfMessageBody(HexFormat.of().formatHex(SqsMessageMd5.bodyDigest(encoded.messageBody().getBytes(StandardCharsets.UTF_8))))
+                .build();
+        SendMessageResponse badResponse = SendMessageResponse.builder()
+                .md5OfMessageBody(HexFormat.of().formatHex(SqsMessageMd5.bodyDigest(PAYLOAD.getBytes(StandardCharsets.UTF_8))))
+                .build();
+
+        SdkResponse validated = interceptor.modifyResponse(new ModifyResponseContext(response, encoded), new ExecutionAttributes());
+
+        assertThat(validated)
+                .isSameAs(response);
+        assertThatThrownBy(() -> interceptor.modifyResponse(new ModifyResponseContext(badResponse, encoded), new ExecutionAttributes()))
+                .isInstanceOf(ChecksumValidationException.class)
+                .hasMessage("SQS checksum mismatch: MD5OfBody");
+    }
+
     private static Stream<Arguments> defaultedAttributeCases() {
         Map<String, MessageAttributeValue> emptyAttributes = Map.of();
         Map<String, MessageAttributeValue> missingCompression = Map.of(
@@ -680,27 +1693,40 @@ class SqsCodecInterceptorTest {
         List<String> codecAttributes = List.of(
                 CodecAttributes.CONF,
                 CodecAttributes.CHECKSUM,
-                CodecAttributes.RAW_LENGTH);
-        List<String> shopIdAndCodecAttributes = Stream.concat(
-                Stream.of("shopId"),
-                codecAttributes.stream())
-                .toList();
+                CodecAttributes.RAW_LENGTH,
+                CodecAttributes.COMPACT,
+                CodecAttributes.PAYLOAD);
         return Stream.of(
                 Arguments.of(
                         "adds codec attributes when missing",
                         List.of(),
                         false,
-                        codecAttributes),
+                        List.of("x-codec.*")),
                 Arguments.of(
                         "adds codec attributes while preserving existing",
                         List.of("shopId"),
                         false,
-                        shopIdAndCodecAttributes),
+                        List.of("shopId", "x-codec.*")),
+                Arguments.of(
+                        "replaces partial codec attributes with the wildcard",
+                        List.of("shopId", CodecAttributes.CONF),
+                        false,
+                        List.of("shopId", "x-codec.*")),
                 Arguments.of(
                         "skips when codec attributes already present",
                         codecAttributes,
                         true,
                         codecAttributes),
+                Arguments.of(
+                        "skips when codec wildcard present",
+                        List.of("shopId", "x-codec.*"),
+                        true,
+                        List.of("shopId", "x-codec.*")),
+                Arguments.of(
+                        "skips when all attributes requested by wildcard",
+                        List.of(".*"),
+                        true,
+                        List.of(".*")),
                 Arguments.of(
                         "skips when all attributes requested",
                         List.of("All"),
@@ -747,6 +1773,8 @@ class SqsCodecInterceptorTest {
                 CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c"));
         Map<String, MessageAttributeValue> duplicateKey = Map.of(
                 CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=none;c=zstd"));
+        Map<String, MessageAttributeValue> unsupportedChecksumScope = Map.of(
+                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;h=md5;s=body"));
 
         return Stream.of(
                 Arguments.of(
@@ -772,7 +1800,11 @@ class SqsCodecInterceptorTest {
                 Arguments.of(
                         duplicateKey,
                         UnsupportedCodecConfigurationException.class,
-                        "Duplicate codec configuration key: c"));
+                        "Duplicate codec configuration key: c"),
+                Arguments.of(
+                        unsupportedChecksumScope,
+                        UnsupportedAlgorithmException.class,
+                        "Unsupported checksum scope: body"));
     }
 
     private static Map<String, MessageAttributeValue> codecAttributes(
@@ -798,11 +1830,10 @@ class SqsCodecInterceptorTest {
     private record ModifyRequestContext(SdkRequest request) implements Context.ModifyRequest {
     }
 
-    private record ModifyResponseContext(SdkResponse response) implements Context.ModifyResponse {
+    private record ModifyResponseContext(SdkResponse response, SdkRequest request) implements Context.ModifyResponse {
 
-        @Override
-        public SdkRequest request() {
-            return null;
+        ModifyResponseContext(SdkResponse response) {
+            this(response, null);
         }
 
         @Override
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SqsMessageCharactersTest {
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bodyCases")
+    void isValid(String scenario, String body, boolean expected) {
+        assertThat(SqsMessageCharacters.isValid(body))
+                .isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> bodyCases() {
+        return Stream.of(
+                Arguments.of("empty", "", true),
+                Arguments.of("json", "{\"value\":42}", true),
+                Arguments.of("tab, line feed and carriage return", "a\tb\nc\r", true),
+                Arguments.of("private use area", "\uE000", true),
+                Arguments.of("surrogate pair", "\uD83D\uDE00", true),
+                Arguments.of("null character", "a\u0000", false),
+                Arguments.of("other control character", "\u001F", false),
+                Arguments.of("unpaired high surrogate", "\uD83Da", false),
+                Arguments.of("trailing high surrogate", "a\uD83D", false),
+                Arguments.of("unpaired low surrogate", "\uDE00", false),
+                Arguments.of("noncharacter", "\uFFFE", false));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.attributes.CodecAttributes;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+class SwitchableSqsCodecInterceptorTest {
+
+    private static final String PAYLOAD = "{\"value\":42}";
+
+    @Test
+    void modifyRequest_usesCurrentInterceptor() {
+        SwitchableSqsCodecInterceptor interceptor = SwitchableSqsCodecInterceptor.of(SqsCodecInterceptor.defaultInterceptor());
+
+        SendMessageRequest before = encode(interceptor);
+        SqsCodecInterceptor zstd = interceptor.update(current -> current.withCompressionAlgorithm(CompressionAlgorithm.ZSTD));
+        SendMessageRequest after = encode(interceptor);
+
+        assertThat(before.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=none;e=none;h=md5");
+        assertThat(after.messageAttributes().get(CodecAttributes.CONF).stringValue())
+                .isEqualTo("v=1;c=zstd;e=base64;h=md5");
+        assertThat(interceptor.current())
+                .isSameAs(zstd);
+    }
+
+    private static SendMessageRequest encode(SwitchableSqsCodecInterceptor interceptor) {
+        Context.ModifyRequest context = Mockito.mock(Context.ModifyRequest.class);
+        Mockito.when(context.request())
+                .thenReturn(SendMessageRequest.builder().messageBody(PAYLOAD).build());
+        return (SendMessageRequest) interceptor.modifyRequest(context, new ExecutionAttributes());
+    }
+}
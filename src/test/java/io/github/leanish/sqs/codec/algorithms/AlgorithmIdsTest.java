@@ -6,12 +6,14 @@
 package io.github.leanish.sqs.codec.algorithms;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -25,6 +27,45 @@ class AlgorithmIdsTest {
                 .hasSize(values.length);
     }
 
+    @ParameterizedTest(name = "{0} codes round-trip")
+    @MethodSource("algorithmValues")
+    void algorithmCodesRoundTrip(String name, Enum<?>[] values) {
+        for (Enum<?> value : values) {
+            assertThat(fromCode(value))
+                    .isSameAs(value);
+        }
+    }
+
+    @Test
+    void fromCode_unsupported() {
+        assertThatThrownBy(() -> CompressionAlgorithm.fromCode((byte) 99))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload compression: 99");
+        assertThatThrownBy(() -> ChecksumScope.fromCode((byte) -1))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported checksum scope: -1");
+    }
+
+    @Test
+    void payloadCarrierFromId() {
+        assertThat(PayloadCarrier.fromId("Attribute"))
+                .isSameAs(PayloadCarrier.ATTRIBUTE);
+        assertThatThrownBy(() -> PayloadCarrier.fromId("queue"))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload carrier: queue");
+    }
+
+    @Test
+    void payloadFormatFromId() {
+        assertThat(PayloadFormat.fromId("ENVELOPE"))
+                .isSameAs(PayloadFormat.ENVELOPE);
+        assertThat(PayloadFormat.fromId("f=single;", 2, 8))
+                .isSameAs(PayloadFormat.SINGLE);
+        assertThatThrownBy(() -> PayloadFormat.fromId("batch"))
+                .isInstanceOf(UnsupportedAlgorithmException.class)
+                .hasMessage("Unsupported payload format: batch");
+    }
+
     private static Set<String> uniqueIds(Enum<?>[] values) {
         return Arrays.stream(values)
                 .map(value -> {
@@ -37,15 +78,35 @@ class AlgorithmIdsTest {
                     if (value instanceof ChecksumAlgorithm algorithm) {
                         return algorithm.id();
                     }
+                    if (value instanceof ChecksumScope scope) {
+                        return scope.id();
+                    }
                     throw new IllegalStateException("Unsupported algorithm type: " + value.getClass());
                 })
                 .collect(Collectors.toUnmodifiableSet());
     }
 
+    private static Enum<?> fromCode(Enum<?> value) {
+        if (value instanceof CompressionAlgorithm algorithm) {
+            return CompressionAlgorithm.fromCode(algorithm.code());
+        }
+        if (value instanceof EncodingAlgorithm algorithm) {
+            return EncodingAlgorithm.fromCode(algorithm.code());
+        }
+        if (value instanceof ChecksumAlgorithm algorithm) {
+            return ChecksumAlgorithm.fromCode(algorithm.code());
+        }
+        if (value instanceof ChecksumScope scope) {
+            return ChecksumScope.fromCode(scope.code());
+        }
+        throw new IllegalStateException("Unsupported algorithm type: " + value.getClass());
+    }
+
     private static Stream<Arguments> algorithmValues() {
         return Stream.of(
                 Arguments.of("CompressionAlgorithm", CompressionAlgorithm.values()),
                 Arguments.of("EncodingAlgorithm", EncodingAlgorithm.values()),
-                Arguments.of("ChecksumAlgorithm", ChecksumAlgorithm.values()));
+                Arguments.of("ChecksumAlgorithm", ChecksumAlgorithm.values()),
+                Arguments.of("ChecksumScope", ChecksumScope.values()));
     }
 }
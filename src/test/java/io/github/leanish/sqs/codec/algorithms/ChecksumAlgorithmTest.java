@@ -42,6 +42,8 @@ class ChecksumAlgorithmTest {
         return Stream.of(
                 Arguments.of("MD5", ChecksumAlgorithm.MD5),
                 Arguments.of("sha256", ChecksumAlgorithm.SHA256),
+                Arguments.of("CRC32C", ChecksumAlgorithm.CRC32C),
+                Arguments.of("xxh64", ChecksumAlgorithm.XXH64),
                 Arguments.of("None", ChecksumAlgorithm.NONE));
     }
 }
@@ -9,8 +9,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.google.errorprone.annotations.Immutable;
 
 class ChecksumTest {
 
@@ -20,11 +27,53 @@ class ChecksumTest {
 
         Md5Digestor md5 = new Md5Digestor();
         Sha256Digestor sha256 = new Sha256Digestor();
+        Crc32cDigestor crc32c = new Crc32cDigestor();
+        Xxh64Digestor xxh64 = new Xxh64Digestor();
 
         assertThat(md5.checksum(payload))
                 .isEqualTo("t2tngCwK9b7C9eqVQunqfg==");
         assertThat(sha256.checksum(payload))
                 .isEqualTo("eQTFzG7BGaPUgIUuq8rJBeIyQhPVNOfDTHjJAxb8udg=");
+        assertThat(crc32c.checksum(payload))
+                .isEqualTo("9Ts5Qg");
+        assertThat(xxh64.checksum(payload))
+                .isEqualTo("EQCdLoDdt4g");
+    }
+
+    @ParameterizedTest
+    @MethodSource("xxh64ReferenceCases")
+    void xxh64_referenceValues(String input, long expected) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(Xxh64Digestor.hash(bytes, 0, bytes.length))
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("digestorCases")
+    void newDigest_matchesOneShotDigest(Digestor digestor) {
+        byte[] payload = "Nobody inspects the spammish repetition, not even twice over".getBytes(StandardCharsets.UTF_8);
+
+        IncrementalDigest digest = digestor.newDigest();
+        for (int offset = 0; offset < payload.length; offset += 7) {
+            digest.update(payload, offset, Math.min(7, payload.length - offset));
+        }
+
+        assertThat(digest.digest())
+                .isEqualTo(digestor.digest(payload));
+    }
+
+    @ParameterizedTest
+    @MethodSource("digestorCases")
+    void matches_happyCase(Digestor digestor) {
+        byte[] payload = "payload-42".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(digestor.matches(payload, digestor.checksum(payload)))
+                .isTrue();
+        assertThat(digestor.matches("payload-43".getBytes(StandardCharsets.UTF_8), digestor.checksum(payload)))
+                .isFalse();
+        assertThat(digestor.matches(payload, "!not-base64!"))
+                .isFalse();
     }
 
     @Test
@@ -35,4 +84,38 @@ class ChecksumTest {
                 .isInstanceOf(UnavailableAlgorithmException.class)
                 .hasMessage("Digestor algorithm is none");
     }
+
+    @Test
+    void checksum_unavailableAlgorithmKeepsCause() {
+        MissingDigestor digestor = new MissingDigestor();
+
+        assertThatThrownBy(() -> digestor.checksum(new byte[0]))
+                .isInstanceOf(UnavailableAlgorithmException.class)
+                .hasMessage("NO-SUCH-DIGEST digest is not available")
+                .hasCauseInstanceOf(NoSuchAlgorithmException.class);
+    }
+
+    private static Stream<Digestor> digestorCases() {
+        return Stream.of(
+                new Md5Digestor(),
+                new Sha256Digestor(),
+                new Crc32cDigestor(),
+                new Xxh64Digestor());
+    }
+
+    private static Stream<Arguments> xxh64ReferenceCases() {
+        return Stream.of(
+                Arguments.of("", 0xEF46DB3751D8E999L),
+                Arguments.of("a", 0xD24EC4F1A98C6E5BL),
+                Arguments.of("abc", 0x44BC2CF5AD770999L),
+                Arguments.of("Nobody inspects the spammish repetition", 0xFBCEA83C8A378BF1L));
+    }
+
+    @Immutable
+    private static final class MissingDigestor extends MessageDigestDigestor {
+
+        MissingDigestor() {
+            super("NO-SUCH-DIGEST");
+        }
+    }
 }
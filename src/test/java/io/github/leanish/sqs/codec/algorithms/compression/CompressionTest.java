@@ -35,6 +35,24 @@ class CompressionTest {
                 .isEqualTo(payload);
     }
 
+    @ParameterizedTest
+    @MethodSource("compressorCases")
+    void compress_deterministic(Compressor compressor) {
+        byte[] payload = "payload-42".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(compressor.compress(payload))
+                .isEqualTo(compressor.compress(payload));
+    }
+
+    @Test
+    void compress_gzipHeaderHasNoTimestamp() {
+        byte[] compressed = new GzipCompressor().compress("payload-42".getBytes(StandardCharsets.UTF_8));
+
+        // MTIME (bytes 4-7) and OS (byte 9)
+        assertThat(compressed)
+                .startsWith(0x1f, 0x8b, 8, 0, 0, 0, 0, 0, 0, 0xff);
+    }
+
     @Test
     void compress_noOp() {
         NoOpCompressor compressor = new NoOpCompressor();
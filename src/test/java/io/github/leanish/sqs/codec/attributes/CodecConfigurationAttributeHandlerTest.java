@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.leanish.sqs.codec.CodecConfiguration;
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.PayloadFormat;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class CodecConfigurationAttributeHandlerTest {
+
+    @BeforeEach
+    void setUp() {
+        CodecConfigurationAttributeHandler.clearCachedConfigurations();
+    }
+
+    @Test
+    void parseConf_happyCase() {
+        assertThat(CodecConfigurationAttributeHandler.parseConf(" V=1 ; c = ZSTD;e=base64;;h=crc32c;s=Encoded; "))
+                .isEqualTo(new CodecConfiguration(
+                        1,
+                        CompressionAlgorithm.ZSTD,
+                        EncodingAlgorithm.BASE64,
+                        ChecksumAlgorithm.CRC32C,
+                        ChecksumScope.ENCODED));
+    }
+
+    @Test
+    void parseConf_compressedAttributes() {
+        assertThat(CodecConfigurationAttributeHandler.parseConf("v=1;c=gzip;e=base64;h=md5;a=cart,order").compressedAttributes())
+                .containsExactly("cart", "order");
+    }
+
+    @Test
+    void attributeValue_encodedScopeWritesExtendedVersion() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5,
+                ChecksumScope.ENCODED);
+
+        String confValue = CodecConfigurationAttributeHandler.forOutbound(configuration).attributeValue().stringValue();
+
+        assertThat(confValue)
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;s=encoded");
+        assertThat(CodecConfigurationAttributeHandler.parseConf(confValue))
+                .isEqualTo(configuration);
+    }
+
+    @Test
+    void attributeValue_compressedAttributesWriteExtendedVersion() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5,
+                ChecksumScope.RAW,
+                List.of("cart", "order"));
+
+        String confValue = CodecConfigurationAttributeHandler.forOutbound(configuration).attributeValue().stringValue();
+
+        assertThat(confValue)
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;a=cart,order");
+        assertThat(CodecConfigurationAttributeHandler.parseConf(confValue))
+                .isEqualTo(configuration);
+    }
+
+    @Test
+    void attributeValue_envelopeWritesExtendedVersion() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5)
+                .withPayloadFormat(PayloadFormat.ENVELOPE);
+
+        String confValue = CodecConfigurationAttributeHandler.forOutbound(configuration).attributeValue().stringValue();
+
+        assertThat(confValue)
+                .isEqualTo("v=3;c=zstd;e=base64;h=md5;f=envelope");
+        assertThat(CodecConfigurationAttributeHandler.parseConf(confValue))
+                .isEqualTo(configuration);
+    }
+
+    @ParameterizedTest
+    @MethodSource("confValues")
+    void parseConf_matchesMapBasedParser(String confValue) {
+        Object expected = parse(() -> CodecConfigurationAttributeHandler.parseConfWithUnknownKeys(confValue));
+        Object actual = parse(() -> CodecConfigurationAttributeHandler.parseConf(confValue));
+
+        if (expected instanceof Throwable expectedException) {
+            assertThat(actual)
+                    .isInstanceOf(expectedException.getClass())
+                    .hasFieldOrPropertyWithValue("message", expectedException.getMessage());
+        } else {
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void fromAttributes_cachesParsedConfigurations() {
+        String confValue = "v=1;c=gzip;e=base64;h=sha256";
+        Map<String, MessageAttributeValue> attributes = Map.of(
+                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute(confValue));
+        Map<String, MessageAttributeValue> copiedAttributes = Map.of(
+                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute(new String(confValue.toCharArray())));
+
+        CodecConfigurationAttributeHandler first = CodecConfigurationAttributeHandler.fromAttributes(attributes);
+        CodecConfigurationAttributeHandler second = CodecConfigurationAttributeHandler.fromAttributes(copiedAttributes);
+
+        assertThat(second).isSameAs(first);
+        assertThat(CodecConfigurationAttributeHandler.cachedConfigurations()).isOne();
+    }
+
+    @Test
+    void fromAttributes_cacheIsBounded() {
+        for (int i = 0; i < CodecConfigurationAttributeHandler.MAX_CACHED_CONFIGURATIONS * 2; i++) {
+            CodecConfigurationAttributeHandler.fromAttributes(Map.of(
+                    CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=none;x" + i + "=y")));
+        }
+
+        assertThat(CodecConfigurationAttributeHandler.cachedConfigurations())
+                .isEqualTo(CodecConfigurationAttributeHandler.MAX_CACHED_CONFIGURATIONS);
+    }
+
+    @Test
+    void fromAttributes_cacheKeepsRecentValues() {
+        Map<String, MessageAttributeValue> recent = Map.of(
+                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=zstd;e=base64;h=md5"));
+        for (int i = 0; i < CodecConfigurationAttributeHandler.MAX_CACHED_CONFIGURATIONS * 2; i++) {
+            CodecConfigurationAttributeHandler.fromAttributes(Map.of(
+                    CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=none;x" + i + "=y")));
+        }
+
+        assertThat(CodecConfigurationAttributeHandler.fromAttributes(recent))
+                .isSameAs(CodecConfigurationAttributeHandler.fromAttributes(recent));
+    }
+
+    @Test
+    void fromAttributes_compressedAttributeListsNotCached() {
+        CodecConfigurationAttributeHandler.fromAttributes(Map.of(
+                CodecAttributes.CONF, MessageAttributeUtils.stringAttribute("v=1;c=zstd;e=base64;h=md5;a=cart")));
+
+        assertThat(CodecConfigurationAttributeHandler.cachedConfigurations())
+                .isZero();
+    }
+
+    private static Stream<String> confValues() {
+        return Stream.of(
+                "v=1;c=zstd;e=base64;h=md5",
+                "v=01;c=GZIP;e=BASE64-STD;h=SHA256",
+                "v=+1",
+                ";",
+                " ; ; ",
+                "c=snappy;e=none",
+                "v=1;c=none;custom=value",
+                "v=1;custom=a;custom=b",
+                "v=1;v=1",
+                "C=zstd;c=zstd",
+                "v=2",
+                "v=one",
+                "v=",
+                "=1",
+                "v",
+                "v=1;c==zstd",
+                "c=zstd=fast",
+                "c=brotli",
+                "e=base32",
+                "h=crc64",
+                "s=body",
+                "v=1;c=zstd;e=base64;h=md5;s=encoded",
+                "v=3;c=zstd;e=base64;h=md5;s=encoded",
+                "v=4;c=zstd",
+                "v=1;c=zstd;a=order, cart ,",
+                "v=3;c=zstd;e=base64;h=md5;a=cart",
+                "a=order;A=cart",
+                "a= , ",
+                "a=,",
+                "v=1;c=zstd;e=none;h=md5;p=attribute",
+                "v=3;c=zstd;e=none;h=md5;p=attribute",
+                "p=BODY",
+                "p=queue",
+                "v=1;c=zstd;e=base64;h=md5;f=envelope",
+                "v=3;c=zstd;e=base64;h=md5;f=envelope",
+                "f=SINGLE;F=single",
+                "f=batch");
+    }
+
+    private static Object parse(Supplier<CodecConfiguration> parser) {
+        Throwable failure = catchThrowable(parser::get);
+        return failure != null ? failure : parser.get();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.leanish.sqs.codec.CodecConfiguration;
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.ChecksumScope;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.UnsupportedAlgorithmException;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class CompactCodecAttributeHandlerTest {
+
+    private static final byte[] PAYLOAD = "payload-42".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void applyTo_happyCase() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.COMPACT_VERSION_VALUE,
+                CompressionAlgorithm.GZIP,
+                EncodingAlgorithm.BASE64_STD,
+                ChecksumAlgorithm.CRC32C,
+                ChecksumScope.ENCODED);
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+
+        CompactCodecAttributeHandler.forOutbound(configuration, 300, PAYLOAD)
+                .applyTo(attributes);
+
+        assertThat(attributes.get(CodecAttributes.COMPACT).binaryValue().asByteArray())
+                .containsExactly(2, 3, 2, 3, 1, 0, 0, 1, 44, 0xF5, 0x3B, 0x39, 0x42);
+
+        CompactCodecAttributeHandler parsed = CompactCodecAttributeHandler.fromAttributes(attributes);
+
+        assertThat(parsed.configuration())
+                .isEqualTo(configuration);
+        assertThat(parsed.rawLength())
+                .isEqualTo(300);
+        assertThat(parsed.checksumValue())
+                .isEqualTo(ChecksumAlgorithm.CRC32C.implementation().checksum(PAYLOAD));
+    }
+
+    @Test
+    void applyTo_noChecksum() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.COMPACT_VERSION_VALUE,
+                CompressionAlgorithm.NONE,
+                EncodingAlgorithm.NONE,
+                ChecksumAlgorithm.NONE);
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+
+        CompactCodecAttributeHandler.forOutbound(configuration, PAYLOAD.length, PAYLOAD)
+                .applyTo(attributes);
+
+        assertThat(attributes.get(CodecAttributes.COMPACT).binaryValue().asByteArray())
+                .containsExactly(2, 0, 0, 0, 0, 0, 0, 0, PAYLOAD.length);
+        assertThat(CompactCodecAttributeHandler.fromAttributes(attributes).checksumValue())
+                .isNull();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("invalidAttributes")
+    void fromAttributes_invalid(String scenario, MessageAttributeValue value, Class<? extends Exception> exceptionType, String message) {
+        assertThatThrownBy(() -> CompactCodecAttributeHandler.fromAttributes(Map.of(CodecAttributes.COMPACT, value)))
+                .isInstanceOf(exceptionType)
+                .hasMessage(message);
+    }
+
+    private static Stream<Arguments> invalidAttributes() {
+        return Stream.of(
+                Arguments.of(
+                        "string attribute",
+                        MessageAttributeUtils.stringAttribute("v=2"),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec configuration: v=2"),
+                Arguments.of(
+                        "truncated header",
+                        binary(2, 0, 0, 0),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec configuration: AgAAAA=="),
+                Arguments.of(
+                        "unsupported version",
+                        binary(3, 0, 0, 0, 0, 0, 0, 0, 1),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec version: 3"),
+                Arguments.of(
+                        "unsupported compression",
+                        binary(2, 9, 0, 0, 0, 0, 0, 0, 1),
+                        UnsupportedAlgorithmException.class,
+                        "Unsupported payload compression: 9"),
+                Arguments.of(
+                        "negative raw length",
+                        binary(2, 0, 0, 0, 0, 0xFF, 0xFF, 0xFF, 0xFF),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec configuration: AgAAAAD/////"),
+                Arguments.of(
+                        "missing digest",
+                        binary(2, 0, 0, 1, 0, 0, 0, 0, 1),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec configuration: AgAAAQAAAAAB"),
+                Arguments.of(
+                        "digest without algorithm",
+                        binary(2, 0, 0, 0, 0, 0, 0, 0, 1, 7),
+                        UnsupportedCodecConfigurationException.class,
+                        "Unsupported codec configuration: AgAAAAAAAAABBw=="));
+    }
+
+    private static MessageAttributeValue binary(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return MessageAttributeUtils.binaryAttribute(bytes);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.leanish.sqs.codec.CodecConfiguration;
+import io.github.leanish.sqs.codec.algorithms.ChecksumAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.CompressionAlgorithm;
+import io.github.leanish.sqs.codec.algorithms.EncodingAlgorithm;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class CompressedAttributesHandlerTest {
+
+    private static final String LARGE_JSON = "{\"items\":[" + "{\"sku\":\"sku-1\",\"quantity\":1},".repeat(40) + "{}]}";
+
+    @Test
+    void compress_happyCase() {
+        MessageAttributeValue json = MessageAttributeValue.builder()
+                .dataType("String.json")
+                .stringValue(LARGE_JSON)
+                .build();
+        Map<String, MessageAttributeValue> original = Map.of(
+                "order", json,
+                "cart", MessageAttributeUtils.stringAttribute(LARGE_JSON),
+                "shopId", MessageAttributeUtils.stringAttribute("shop-1"),
+                "count", MessageAttributeUtils.numberAttribute(42));
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(original);
+
+        List<String> compressed = CompressedAttributesHandler.compress(attributes, CompressionAlgorithm.GZIP, 256);
+
+        assertThat(compressed)
+                .containsExactly("cart", "order");
+        assertThat(attributes.get("order").dataType())
+                .isEqualTo("Binary.String.json");
+        assertThat(attributes.get("order").binaryValue().asByteArray().length)
+                .isLessThan(LARGE_JSON.length());
+        assertThat(attributes.get("shopId"))
+                .isSameAs(original.get("shopId"));
+
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.GZIP,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5)
+                .withCompressedAttributes(compressed);
+
+        assertThat(CompressedAttributesHandler.restore(attributes, configuration))
+                .isEqualTo(original);
+    }
+
+    @Test
+    void compress_belowThresholdOrIncompressible() {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(Map.of(
+                "small", MessageAttributeUtils.stringAttribute("shop-1"),
+                "random", MessageAttributeUtils.stringAttribute("Zq8#kP2!xW")));
+
+        assertThat(CompressedAttributesHandler.compress(attributes, CompressionAlgorithm.GZIP, 8))
+                .isEmpty();
+        assertThat(attributes.get("random").stringValue())
+                .isEqualTo("Zq8#kP2!xW");
+    }
+
+    @Test
+    void restore_skipsAttributesNotReceived() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5)
+                .withCompressedAttributes(List.of("order"));
+        Map<String, MessageAttributeValue> attributes = Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1"));
+
+        assertThat(CompressedAttributesHandler.restore(attributes, configuration))
+                .isEqualTo(attributes);
+    }
+
+    @Test
+    void restore_notCompressed() {
+        CodecConfiguration configuration = new CodecConfiguration(
+                CodecAttributes.VERSION_VALUE,
+                CompressionAlgorithm.ZSTD,
+                EncodingAlgorithm.BASE64,
+                ChecksumAlgorithm.MD5)
+                .withCompressedAttributes(List.of("order"));
+        Map<String, MessageAttributeValue> attributes = Map.of("order", MessageAttributeUtils.stringAttribute(LARGE_JSON));
+
+        assertThatThrownBy(() -> CompressedAttributesHandler.restore(attributes, configuration))
+                .isInstanceOf(UnsupportedCodecConfigurationException.class)
+                .hasMessage("Invalid compressed attribute: order");
+    }
+}
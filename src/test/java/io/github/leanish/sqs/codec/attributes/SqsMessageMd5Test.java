@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Leandro Aguiar
+ * Licensed under the MIT License.
+ * See LICENSE file in the project root for full license information.
+ */
+package io.github.leanish.sqs.codec.attributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class SqsMessageMd5Test {
+
+    private static final byte[] BODY = "payload-42".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void validateBody_happyCase() {
+        byte[] digest = SqsMessageMd5.bodyDigest(BODY);
+
+        assertThat(HexFormat.of().formatHex(digest))
+                .isEqualTo("b76b67802c0af5bec2f5ea9542e9ea7e");
+        assertThatCode(() -> SqsMessageMd5.validateBody("B76B67802C0AF5BEC2F5EA9542E9EA7E", digest))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> SqsMessageMd5.validateBody(null, digest))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateBody_mismatch() {
+        byte[] digest = SqsMessageMd5.bodyDigest(BODY);
+
+        assertThatThrownBy(() -> SqsMessageMd5.validateBody("not-hex", digest))
+                .isInstanceOfSatisfying(ChecksumValidationException.class, exception -> {
+                    assertThat(exception.detail()).isEqualTo(SqsMessageMd5.BODY);
+                })
+                .hasMessage("SQS checksum mismatch: MD5OfBody");
+    }
+
+    @Test
+    void messageAttributesDigest_happyCase() {
+        Map<String, MessageAttributeValue> attributes = Map.of(
+                "b", MessageAttributeUtils.numberAttribute(42),
+                "a", MessageAttributeValue.builder()
+                        .dataType("Binary")
+                        .binaryValue(SdkBytes.fromByteArray(new byte[] {0, 1}))
+                        .build());
+
+        assertThat(HexFormat.of().formatHex(SqsMessageMd5.messageAttributesDigest(
+                Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-1")))))
+                .isEqualTo("adc44046c8b2430910063c34bc9d9fcb");
+        assertThat(HexFormat.of().formatHex(SqsMessageMd5.messageAttributesDigest(attributes)))
+                .isEqualTo("9cc2a2b9b80b80594197c6e8206f2e63");
+    }
+
+    @Test
+    void validateMessageAttributes_mismatch() {
+        Map<String, MessageAttributeValue> attributes = Map.of("shopId", MessageAttributeUtils.stringAttribute("shop-2"));
+
+        assertThatThrownBy(() -> SqsMessageMd5.validateMessageAttributes("adc44046c8b2430910063c34bc9d9fcb", attributes))
+                .isInstanceOf(ChecksumValidationException.class)
+                .hasMessage("SQS checksum mismatch: MD5OfMessageAttributes");
+        assertThatCode(() -> SqsMessageMd5.validateMessageAttributes("adc44046c8b2430910063c34bc9d9fcb", Map.of()))
+                .doesNotThrowAnyException();
+    }
+}